@@ -0,0 +1,27 @@
+package com.main.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，默认开启GC profiler统计分配速率
+ * 命令行参数与JMH相同，例如 java -jar target/benchmarks.jar -p tables=100 -rf json，
+ * 未指定要运行的基准测试时运行全部，也可指定类名只运行其中一个，例如 java -jar target/benchmarks.jar InsertBatchBenchmark
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            builder.include(BuilderBenchmark.class.getSimpleName())
+                    .include(InsertBatchBenchmark.class.getSimpleName())
+                    .include(UpdateBatchBenchmark.class.getSimpleName());
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.main.benchmark;
+
+import com.main.bean.TableInfo;
+import com.main.builder.BuildController;
+import com.main.builder.BuildMapperXml;
+import com.main.builder.BuildPo;
+import com.main.builder.BuildQuery;
+import com.main.builder.BuildServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BuilderBenchmark类测量各生成器渲染一个库的吞吐量
+ * 每次操作把所有表渲染到NullWriter，不写磁盘，结果为每秒渲染整个库的次数；
+ * 配合GC profiler（BenchmarkRunner默认开启，或命令行-prof gc）可得到每次操作的分配量
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BuilderBenchmark {
+    // 每张表的字段数
+    @Param({"10", "100", "1000"})
+    public int columns;
+
+    // 表的数量
+    @Param({"1", "100", "5000"})
+    public int tables;
+
+    private List<TableInfo> tableList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tableList = SyntheticSchema.create(columns, tables);
+    }
+
+    @Benchmark
+    public long buildPo() throws Exception {
+        NullWriter writer = new NullWriter();
+        for (TableInfo tableInfo : tableList) {
+            BuildPo.render(tableInfo, writer);
+        }
+        return writer.getCount();
+    }
+
+    @Benchmark
+    public long buildQuery() throws Exception {
+        NullWriter writer = new NullWriter();
+        for (TableInfo tableInfo : tableList) {
+            BuildQuery.render(tableInfo, writer);
+        }
+        return writer.getCount();
+    }
+
+    @Benchmark
+    public long buildMapperXml() throws Exception {
+        NullWriter writer = new NullWriter();
+        for (TableInfo tableInfo : tableList) {
+            BuildMapperXml.render(tableInfo, writer);
+        }
+        return writer.getCount();
+    }
+
+    @Benchmark
+    public long buildServiceImpl() throws Exception {
+        NullWriter writer = new NullWriter();
+        for (TableInfo tableInfo : tableList) {
+            BuildServiceImpl.render(tableInfo, writer);
+        }
+        return writer.getCount();
+    }
+
+    @Benchmark
+    public long buildController() throws Exception {
+        NullWriter writer = new NullWriter();
+        for (TableInfo tableInfo : tableList) {
+            BuildController.render(tableInfo, writer);
+        }
+        return writer.getCount();
+    }
+}
@@ -0,0 +1,141 @@
+package com.main.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InsertBatchBenchmark类比较生成代码中批量新增的几种执行方式
+ * 在MySQL模式的H2内存库中插入rows条记录，分别使用整个列表一条多值insert语句（原insertBatch的方式）、
+ * 按chunkRows条分块的多值insert语句（batch.insert.mode=chunk）以及单行insert的JDBC批处理（batch.insert.mode=jdbc），
+ * 语句与生成的MapperXml一致，不经过MyBatis，结果为插入全部记录的平均耗时
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class InsertBatchBenchmark {
+    private static final String COLUMNS = "name, amount, create_time, status";
+    private static final String VALUES = "(?, ?, ?, ?)";
+
+    // 插入的记录数
+    @Param({"10000"})
+    public int rows;
+
+    // 每块的条数
+    @Param({"100", "500", "2000"})
+    public int chunkRows;
+
+    private Connection conn;
+    private List<Object[]> rowList;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:insert_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("create table if not exists bench_insert (id bigint auto_increment primary key, " +
+                    "name varchar(64), amount decimal(10,2), create_time datetime, status tinyint)");
+        }
+        rowList = new ArrayList<>(rows);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < rows; i++) {
+            rowList.add(new Object[]{"name_" + i, BigDecimal.valueOf(i, 2), now, i % 2});
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("truncate table bench_insert");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public int singleStatement() throws SQLException {
+        return insertValues(rowList);
+    }
+
+    @Benchmark
+    public int chunked() throws SQLException {
+        int count = 0;
+        for (int from = 0; from < rowList.size(); from += chunkRows) {
+            count += insertValues(rowList.subList(from, Math.min(from + chunkRows, rowList.size())));
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int jdbcBatch() throws SQLException {
+        int count = 0;
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO bench_insert (" + COLUMNS + ") values " + VALUES)) {
+            for (int from = 0; from < rowList.size(); from += chunkRows) {
+                for (Object[] row : rowList.subList(from, Math.min(from + chunkRows, rowList.size()))) {
+                    setRow(ps, 1, row);
+                    ps.addBatch();
+                }
+                for (int updateCount : ps.executeBatch()) {
+                    count += updateCount == Statement.SUCCESS_NO_INFO ? 1 : updateCount;
+                }
+                conn.commit();
+            }
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        return count;
+    }
+
+    /**
+     * 执行一条多值insert语句
+     * @param chunk 插入的记录
+     * @return 影响行数
+     */
+    private int insertValues(List<Object[]> chunk) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO bench_insert (" + COLUMNS + ") values ");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append(VALUES);
+        }
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Object[] row : chunk) {
+                index = setRow(ps, index, row);
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    private static int setRow(PreparedStatement ps, int index, Object[] row) throws SQLException {
+        for (Object value : row) {
+            ps.setObject(index++, value);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,38 @@
+package com.main.benchmark;
+
+import java.io.Writer;
+
+/**
+ * NullWriter类丢弃写入的内容，只统计字符数
+ * 用于只测量生成器渲染的开销，字符数交给Blackhole防止渲染被JIT优化掉
+ */
+public class NullWriter extends Writer {
+    private long count;
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        count += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        count += len;
+    }
+
+    @Override
+    public void write(int c) {
+        count++;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,64 @@
+package com.main.benchmark;
+
+import com.main.bean.TableInfo;
+import com.main.builder.BuildTableDdl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SyntheticSchema类用于构造基准测试使用的表结构
+ * 先生成指定字段数的建表语句，再通过BuildTableDdl解析，得到与读库结果一致的TableInfo、FieldInfo和keyIndexMap。
+ * 多张表共用同一份字段列表，只有表名和类名不同，5000张表、每张1000个字段时也不会占用过多内存，
+ * 生成器按表渲染的工作量与各自独立的表结构相同
+ */
+public class SyntheticSchema {
+    // 字段类型，按顺序循环使用，覆盖字符串、整数、长整数、小数、日期和日期时间
+    private static final String[] COLUMN_TYPES = {"varchar(64)", "int", "bigint", "decimal(10,2)", "date", "datetime", "tinyint", "text"};
+
+    /**
+     * 构造表结构
+     * @param columnCount 每张表的字段数（含主键）
+     * @param tableCount 表的数量
+     * @return 表信息列表
+     */
+    public static List<TableInfo> create(int columnCount, int tableCount) {
+        TableInfo template = BuildTableDdl.parse(createDdl(columnCount)).get(0);
+        List<TableInfo> tableList = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            TableInfo tableInfo = new TableInfo();
+            tableInfo.setTableName(template.getTableName() + "_" + i);
+            tableInfo.setBeanName(template.getBeanName() + i);
+            tableInfo.setBeanParamName(template.getBeanName() + i + "Query");
+            tableInfo.setComment(template.getComment());
+            tableInfo.setFieldList(template.getFieldList());
+            tableInfo.setFieldExtendList(template.getFieldExtendList());
+            tableInfo.setKeyIndexMap(template.getKeyIndexMap());
+            tableInfo.setHaveDate(template.getHaveDate());
+            tableInfo.setHaveDateTime(template.getHaveDateTime());
+            tableInfo.setHaveBigDecimal(template.getHaveBigDecimal());
+            tableList.add(tableInfo);
+        }
+        return tableList;
+    }
+
+    /**
+     * 生成指定字段数的建表语句，包含自增主键和一个两列的唯一索引
+     * @param columnCount 字段数
+     * @return 建表语句
+     */
+    private static String createDdl(int columnCount) {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE `bench_table` (\n");
+        ddl.append("  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',\n");
+        for (int i = 1; i < columnCount; i++) {
+            ddl.append("  `column_").append(i).append("` ").append(COLUMN_TYPES[i % COLUMN_TYPES.length])
+                    .append(" DEFAULT NULL COMMENT '字段").append(i).append("',\n");
+        }
+        ddl.append("  PRIMARY KEY (`id`)");
+        if (columnCount > 2) {
+            ddl.append(",\n  UNIQUE KEY `uk_column` (`column_1`, `column_2`)");
+        }
+        ddl.append("\n) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='基准测试表';\n");
+        return ddl.toString();
+    }
+}
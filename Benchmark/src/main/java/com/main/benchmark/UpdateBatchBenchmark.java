@@ -0,0 +1,169 @@
+package com.main.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UpdateBatchBenchmark类比较生成代码中按主键批量更新的几种执行方式
+ * 在MySQL模式的H2内存库中按主键更新rows条记录，分别使用每行一条update语句（原来逐条调用updateBy主键的方式）、
+ * 按chunkRows条分块的单行update的JDBC批处理（batch.update.mode=jdbc）以及每块一条case when语句（batch.update.mode=case），
+ * 语句与生成的MapperXml一致，不经过MyBatis，结果为更新全部记录的平均耗时
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class UpdateBatchBenchmark {
+    private static final String[] COLUMNS = {"name", "amount", "status"};
+
+    // 更新的记录数
+    @Param({"10000"})
+    public int rows;
+
+    // 每块的条数
+    @Param({"100", "500", "2000"})
+    public int chunkRows;
+
+    private Connection conn;
+    // 每行为主键和各列的新值
+    private List<Object[]> rowList;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:update_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("create table if not exists bench_update (id bigint primary key, " +
+                    "name varchar(64), amount decimal(10,2), status tinyint)");
+            statement.execute("truncate table bench_update");
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO bench_update (id, name, amount, status) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                ps.setLong(1, i);
+                ps.setString(2, "name_" + i);
+                ps.setBigDecimal(3, BigDecimal.ZERO);
+                ps.setInt(4, 0);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        rowList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            rowList.add(new Object[]{(long) i, "new_name_" + i, BigDecimal.valueOf(i, 2), i % 2});
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public int singleStatement() throws SQLException {
+        int count = 0;
+        try (PreparedStatement ps = conn.prepareStatement(rowSql())) {
+            for (Object[] row : rowList) {
+                setRow(ps, row);
+                count += ps.executeUpdate();
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int jdbcBatch() throws SQLException {
+        int count = 0;
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(rowSql())) {
+            for (int from = 0; from < rowList.size(); from += chunkRows) {
+                for (Object[] row : rowList.subList(from, Math.min(from + chunkRows, rowList.size()))) {
+                    setRow(ps, row);
+                    ps.addBatch();
+                }
+                for (int updateCount : ps.executeBatch()) {
+                    count += updateCount == Statement.SUCCESS_NO_INFO ? 1 : updateCount;
+                }
+                conn.commit();
+            }
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int caseWhen() throws SQLException {
+        int count = 0;
+        for (int from = 0; from < rowList.size(); from += chunkRows) {
+            count += updateCase(rowList.subList(from, Math.min(from + chunkRows, rowList.size())));
+        }
+        return count;
+    }
+
+    /**
+     * 执行一条case when语句更新一块记录
+     * @param chunk 更新的记录
+     * @return 影响行数
+     */
+    private int updateCase(List<Object[]> chunk) throws SQLException {
+        StringBuilder sql = new StringBuilder("update bench_update set ");
+        for (int c = 0; c < COLUMNS.length; c++) {
+            sql.append(c > 0 ? ", " : "").append(COLUMNS[c]).append(" = case");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(" when id = ? then ?");
+            }
+            sql.append(" else ").append(COLUMNS[c]).append(" end");
+        }
+        sql.append(" where id in (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        sql.append(')');
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int c = 0; c < COLUMNS.length; c++) {
+                for (Object[] row : chunk) {
+                    ps.setObject(index++, row[0]);
+                    ps.setObject(index++, row[c + 1]);
+                }
+            }
+            for (Object[] row : chunk) {
+                ps.setObject(index++, row[0]);
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    private static String rowSql() {
+        return "update bench_update set " + String.join(" = ?, ", COLUMNS) + " = ? where id = ?";
+    }
+
+    private static void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+        for (int c = 0; c < COLUMNS.length; c++) {
+            ps.setObject(c + 1, row[c + 1]);
+        }
+        ps.setObject(COLUMNS.length + 1, row[0]);
+    }
+}
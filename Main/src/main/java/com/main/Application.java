@@ -1,22 +1,21 @@
 package com.main;
 
-import com.main.bean.TableInfo;
+import com.main.bean.Constants;
 import com.main.builder.*;
 
-import java.util.List;
+import java.util.Arrays;
 
 public class Application {
     public static void main(String[] args) {
+        long start = System.nanoTime();
         BuildBase.execute();
-        List<TableInfo> tableInfoList = BuildTable.getTables();
-        for (TableInfo tableInfo : tableInfoList) {
-            BuildPo.execute(tableInfo);
-            BuildQuery.execute(tableInfo);
-            BuildMapper.execute(tableInfo);
-            BuildMapperXml.execute(tableInfo);
-            BuildService.execute(tableInfo);
-            BuildServiceImpl.execute(tableInfo);
-            BuildController.execute(tableInfo);
+        BuildReport.recordPhase("base", System.nanoTime() - start);
+        // 监听方式下常驻进程，表结构变化时只重新生成变化的表
+        if (Constants.WATCH_ENABLED || Arrays.asList(args).contains("--watch")) {
+            BuildWatcher.execute();
+            return;
         }
+        BuildRunner.execute();
+        BuildReport.write();
     }
 }
@@ -4,16 +4,87 @@ import com.main.utils.PropertiesUtils;
 
 /**
  * 常量配置类，用于存储系统中使用的各种常量配置
+ * 所有字段只在静态初始化块中赋值，之后只读，可被多个生成线程安全地读取
  */
 public class Constants {
     // 作者注释
     public static String AUTHOR_COMMENT;
     // 是否忽略表前缀
     public static Boolean IGNORE_TABLE_PREFIX;
+    // 需要生成代码的表，逗号分隔的通配符或regex:开头的正则表达式，为空时包含所有表
+    public static String TABLE_INCLUDE;
+    // 不需要生成代码的表，格式同TABLE_INCLUDE
+    public static String TABLE_EXCLUDE;
+    // 是否批量读取表结构
+    public static Boolean DB_INTROSPECT_BULK;
+    // 表结构读取器，mysql、jdbc、ddl或TableIntrospector实现类的类名，为空时自动选择
+    public static String DB_INTROSPECTOR;
+    // 建表语句文件或目录，配置后从DDL读取表结构，不连接数据库
+    public static String DDL_PATH;
+    // 读取表结构的并行线程数
+    public static Integer DB_INTROSPECT_PARALLELISM;
+    // 是否使用表结构快照
+    public static Boolean SNAPSHOT_ENABLED;
+    // 表结构快照文件路径
+    public static String SNAPSHOT_PATH;
+    // 是否增量生成
+    public static Boolean GENERATE_INCREMENTAL;
+    // 生成清单文件路径
+    public static String GENERATE_MANIFEST_PATH;
+    // 是否可重现生成
+    public static Boolean GENERATE_REPRODUCIBLE;
+    // 可重现生成时@since固定的值
+    public static String GENERATE_REPRODUCIBLE_SINCE;
+    // 生成代码的并行线程数
+    public static Integer GENERATE_PARALLELISM;
+    // 是否在生成结束后写入耗时报告
+    public static Boolean REPORT_ENABLED;
+    // 耗时报告文件路径
+    public static String REPORT_PATH;
+    // 自定义模板目录，目录下的同名模板优先于内置模板
+    public static String TEMPLATE_PATH;
+    // 生成文件的输出方式，direct逐个写入，batch在内存中收集后分批写入，zip打包为一个zip文件
+    public static String OUTPUT_MODE;
+    // batch方式下内存中累计的内容达到该大小（MB）时写入一批
+    public static Integer OUTPUT_BATCH_MB;
+    // zip方式下输出的zip文件路径
+    public static String OUTPUT_ZIP_PATH;
+    // 是否以监听方式运行
+    public static Boolean WATCH_ENABLED;
+    // 监听方式下检查表结构变化的间隔（毫秒）
+    public static Integer WATCH_INTERVAL_MS;
+    // 生成的分页查询获取总数的方式，可通过count.strategy.表名按表配置
+    public static String COUNT_STRATEGY;
+    // 生成的批量新增方法的执行方式，chunk按块执行多值insert语句，jdbc使用MyBatis的BATCH执行器
+    public static String BATCH_INSERT_MODE;
+    // 批量新增时每块的最大条数
+    public static Integer BATCH_INSERT_ROWS;
+    // 批量新增时每块的最大估算字节数
+    public static Integer BATCH_INSERT_BYTES;
+    // 生成的按键批量更新方法的执行方式，jdbc使用MyBatis的BATCH执行器逐条执行单行update，case按块执行一条case when语句
+    public static String BATCH_UPDATE_MODE;
+    // 按键批量更新时每块的最大条数
+    public static Integer BATCH_UPDATE_ROWS;
+    // 按键值批量查询和删除时IN列表补齐的长度档位，从小到大排列，最大档位也是每条语句的最大键值数
+    public static int[] BATCH_IN_BUCKETS;
+    // 生成的流式查询每次从数据库读取的行数，Integer.MIN_VALUE为MySQL驱动的逐行流式读取
+    public static Integer STREAM_FETCH_SIZE;
+    // 模糊查询属性的匹配方式，contains始终为包含匹配，auto按字段上的索引选择全文检索、前缀匹配或包含匹配
+    public static String SEARCH_FUZZY_MODE;
+    // 按普通索引生成的列表查询方法每次最多返回的条数
+    public static Integer FINDER_LIMIT_MAX;
+    // 读取表结构与生成代码之间的队列容量，也是同时生成中的最大表数量
+    public static Integer GENERATE_QUEUE_CAPACITY;
     // Bean查询后缀
     public static String SUFFIX_BEAN_QUERY;
     // Bean模糊查询后缀
     public static String SUFFIX_BEAN_QUERY_FUZZY;
+    // Bean前缀匹配查询后缀
+    public static String SUFFIX_BEAN_QUERY_PREFIX;
+    // Bean全文检索查询后缀
+    public static String SUFFIX_BEAN_QUERY_MATCH;
+    // Bean键值列表查询后缀
+    public static String SUFFIX_BEAN_QUERY_LIST;
     // Bean查询时间开始后缀
     public static String SUFFIX_BEAN_QUERY_TIME_START;
     // Bean查询时间结束后缀
@@ -67,6 +138,8 @@ public class Constants {
     // 工具类相关路径和包名
     public static String PACKAGE_UTILS;
     public static String PATH_UTILS;
+    // 生成代码的根目录，即path.base配置的值
+    public static String PATH_ROOT;
     // 基础类相关路径和包名
     public static String PATH_BASE;
     public static String PACKAGE_BASE;
@@ -117,8 +190,59 @@ public class Constants {
         // 加载基本配置
         AUTHOR_COMMENT = PropertiesUtils.getString("author.comment");
         IGNORE_TABLE_PREFIX = Boolean.valueOf(PropertiesUtils.getString("ignore.table.prefix"));
+        TABLE_INCLUDE = PropertiesUtils.getString("table.include");
+        TABLE_EXCLUDE = PropertiesUtils.getString("table.exclude");
+        DB_INTROSPECTOR = PropertiesUtils.getString("db.introspector");
+        DDL_PATH = PropertiesUtils.getString("ddl.path");
+        DB_INTROSPECT_BULK = Boolean.valueOf(PropertiesUtils.getString("db.introspect.bulk"));
+        DB_INTROSPECT_PARALLELISM = PropertiesUtils.getInteger("db.introspect.parallelism", 1);
+        SNAPSHOT_ENABLED = Boolean.valueOf(PropertiesUtils.getString("snapshot.enabled"));
+        SNAPSHOT_PATH = PropertiesUtils.getString("snapshot.path");
+        GENERATE_INCREMENTAL = Boolean.valueOf(PropertiesUtils.getString("generate.incremental"));
+        GENERATE_MANIFEST_PATH = PropertiesUtils.getString("generate.manifest.path");
+        GENERATE_REPRODUCIBLE = Boolean.valueOf(PropertiesUtils.getString("generate.reproducible"));
+        GENERATE_REPRODUCIBLE_SINCE = PropertiesUtils.getString("generate.reproducible.since");
+        GENERATE_PARALLELISM = PropertiesUtils.getInteger("generate.parallelism", Runtime.getRuntime().availableProcessors());
+        REPORT_ENABLED = Boolean.valueOf(PropertiesUtils.getString("report.enabled"));
+        REPORT_PATH = PropertiesUtils.getString("report.path");
+        TEMPLATE_PATH = PropertiesUtils.getString("template.path");
+        OUTPUT_MODE = PropertiesUtils.getString("output.mode");
+        if (OUTPUT_MODE == null || OUTPUT_MODE.trim().isEmpty()) {
+            OUTPUT_MODE = "direct";
+        }
+        OUTPUT_MODE = OUTPUT_MODE.trim();
+        OUTPUT_BATCH_MB = Math.max(1, PropertiesUtils.getInteger("output.batch.mb", 64));
+        OUTPUT_ZIP_PATH = PropertiesUtils.getString("output.zip.path");
+        WATCH_ENABLED = Boolean.valueOf(PropertiesUtils.getString("watch.enabled"));
+        WATCH_INTERVAL_MS = Math.max(100, PropertiesUtils.getInteger("watch.interval.ms", 500));
+        COUNT_STRATEGY = PropertiesUtils.getString("count.strategy");
+        BATCH_INSERT_MODE = PropertiesUtils.getString("batch.insert.mode");
+        if (BATCH_INSERT_MODE == null || BATCH_INSERT_MODE.trim().isEmpty()) {
+            BATCH_INSERT_MODE = "chunk";
+        }
+        BATCH_INSERT_MODE = BATCH_INSERT_MODE.trim();
+        BATCH_INSERT_ROWS = Math.max(1, PropertiesUtils.getInteger("batch.insert.rows", 500));
+        BATCH_INSERT_BYTES = Math.max(1024, PropertiesUtils.getInteger("batch.insert.bytes", 1048576));
+        BATCH_UPDATE_MODE = PropertiesUtils.getString("batch.update.mode");
+        if (BATCH_UPDATE_MODE == null || BATCH_UPDATE_MODE.trim().isEmpty()) {
+            BATCH_UPDATE_MODE = "jdbc";
+        }
+        BATCH_UPDATE_MODE = BATCH_UPDATE_MODE.trim();
+        BATCH_UPDATE_ROWS = Math.max(1, PropertiesUtils.getInteger("batch.update.rows", 500));
+        BATCH_IN_BUCKETS = parseBuckets(PropertiesUtils.getString("batch.in.buckets"));
+        STREAM_FETCH_SIZE = PropertiesUtils.getInteger("stream.fetch.size", Integer.MIN_VALUE);
+        SEARCH_FUZZY_MODE = PropertiesUtils.getString("search.fuzzy.mode");
+        if (SEARCH_FUZZY_MODE == null || SEARCH_FUZZY_MODE.trim().isEmpty()) {
+            SEARCH_FUZZY_MODE = "contains";
+        }
+        SEARCH_FUZZY_MODE = SEARCH_FUZZY_MODE.trim();
+        FINDER_LIMIT_MAX = Math.max(1, PropertiesUtils.getInteger("finder.limit.max", 1000));
+        GENERATE_QUEUE_CAPACITY = Math.max(1, PropertiesUtils.getInteger("generate.queue.capacity", 16));
         SUFFIX_BEAN_QUERY = PropertiesUtils.getString("suffix.bean.parma");
         SUFFIX_BEAN_QUERY_FUZZY = PropertiesUtils.getString("suffix.bean.query.fuzzy");
+        SUFFIX_BEAN_QUERY_PREFIX = PropertiesUtils.getString("suffix.bean.query.prefix");
+        SUFFIX_BEAN_QUERY_MATCH = PropertiesUtils.getString("suffix.bean.query.match");
+        SUFFIX_BEAN_QUERY_LIST = PropertiesUtils.getString("suffix.bean.query.list");
         SUFFIX_BEAN_QUERY_TIME_START = PropertiesUtils.getString("suffix.bean.query.time.start");
         SUFFIX_BEAN_QUERY_TIME_END = PropertiesUtils.getString("suffix.bean.query.time.end");
         SUFFIX_MAPPER = PropertiesUtils.getString("suffix.mapper");
@@ -151,6 +275,7 @@ public class Constants {
 
         // 加载路径配置
         PATH_BASE = PropertiesUtils.getString("path.base");
+        PATH_ROOT = PATH_BASE;
         PACKAGE_RESOURCE = PATH_BASE + PATH_RESOURCE;
         PATH_BASE = PATH_BASE + PATH_JAVA;
 
@@ -167,4 +292,28 @@ public class Constants {
         PATH_EXCEPTION = PATH_BASE + "/" + PACKAGE_EXCEPTION.replace(".", "/");
         PATH_CONTROLLER = PATH_BASE + "/" + PACKAGE_CONTROLLER.replace(".", "/");
     }
+
+    /**
+     * 解析IN列表的长度档位，未配置时为1,4,16,64,256,1000
+     * @param buckets 逗号分隔的档位
+     * @return 从小到大排列的档位
+     */
+    private static int[] parseBuckets(String buckets) {
+        if (buckets == null || buckets.trim().isEmpty()) {
+            return new int[]{1, 4, 16, 64, 256, 1000};
+        }
+        String[] items = buckets.split(",");
+        int[] result = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            try {
+                result[i] = Integer.parseInt(items[i].trim());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("IN列表长度档位配置错误: " + buckets, e);
+            }
+            if (result[i] <= 0 || (i > 0 && result[i] <= result[i - 1])) {
+                throw new RuntimeException("IN列表长度档位必须是从小到大排列的正整数: " + buckets);
+            }
+        }
+        return result;
+    }
 }
@@ -29,6 +29,10 @@ public class FieldInfo {
      * 是否为自增字段
      */
     private Boolean isAutoIncrement;
+    /**
+     * 是否允许为NULL
+     */
+    private Boolean isNullable;
 
     public String getFieldName() {
         return fieldName;
@@ -77,4 +81,12 @@ public class FieldInfo {
     public void setIsAutoIncrement(Boolean isAutoIncrement) {
         this.isAutoIncrement = isAutoIncrement;
     }
+
+    public Boolean getIsNullable() {
+        return isNullable;
+    }
+
+    public void setIsNullable(Boolean isNullable) {
+        this.isNullable = isNullable;
+    }
 }
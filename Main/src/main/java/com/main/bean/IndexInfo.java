@@ -0,0 +1,59 @@
+package com.main.bean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IndexInfo类用于表示数据库表中的一个索引
+ * 包含索引名、按索引中顺序排列的字段、是否唯一和索引类型
+ */
+public class IndexInfo {
+    /**
+     * 索引名，主键为PRIMARY
+     */
+    private String indexName;
+    /**
+     * 索引包含的字段，按在索引中的顺序排列
+     */
+    private List<FieldInfo> fieldList = new ArrayList<>();
+    /**
+     * 是否为唯一索引（包括主键）
+     */
+    private Boolean isUnique;
+    /**
+     * 索引类型（如BTREE, HASH, FULLTEXT, SPATIAL等）
+     */
+    private String indexType;
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public List<FieldInfo> getFieldList() {
+        return fieldList;
+    }
+
+    public void setFieldList(List<FieldInfo> fieldList) {
+        this.fieldList = fieldList;
+    }
+
+    public Boolean getIsUnique() {
+        return isUnique;
+    }
+
+    public void setIsUnique(Boolean isUnique) {
+        this.isUnique = isUnique;
+    }
+
+    public String getIndexType() {
+        return indexType;
+    }
+
+    public void setIndexType(String indexType) {
+        this.indexType = indexType;
+    }
+}
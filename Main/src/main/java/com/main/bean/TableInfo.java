@@ -1,5 +1,6 @@
 package com.main.bean;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,9 @@ public class TableInfo {
     /** 索引信息映射，使用LinkedHashMap保持插入顺序 */
     private Map<String, List<FieldInfo>> keyIndexMap = new LinkedHashMap<>();
     
+    /** 表的所有索引，包括主键、唯一索引、普通索引和全文索引，按show index的顺序排列 */
+    private List<IndexInfo> indexList = new ArrayList<>();
+    
     /** 表中是否包含日期类型字段 */
     private Boolean haveDate;
     
@@ -95,6 +99,14 @@ public class TableInfo {
         this.keyIndexMap = keyIndexMap;
     }
 
+    public List<IndexInfo> getIndexList() {
+        return indexList;
+    }
+
+    public void setIndexList(List<IndexInfo> indexList) {
+        this.indexList = indexList;
+    }
+
     public Boolean getHaveDate() {
         return haveDate;
     }
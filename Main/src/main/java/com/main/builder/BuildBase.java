@@ -50,25 +50,51 @@ public class BuildBase {
 
         // 清空列表，为下一个文件做准备
         headerInfoList.clear();
-        // 生成SimplePage查询类，需要导入PageSize枚举
+        // 生成CountStrategy枚举类
+        headerInfoList.add("package " + Constants.PACKAGE_ENUM + ";");
+        build(headerInfoList, "CountStrategy", Constants.PATH_ENUM);
+
+        // 清空列表，为下一个文件做准备
+        headerInfoList.clear();
+        // 生成SimplePage查询类，需要导入PageSize和CountStrategy枚举
         headerInfoList.add("package " + Constants.PACKAGE_QUERY + ";");
         headerInfoList.add("import " + Constants.PACKAGE_ENUM + ".PageSize;");
+        headerInfoList.add("import " + Constants.PACKAGE_ENUM + ".CountStrategy;");
         build(headerInfoList, "SimplePage", Constants.PATH_QUERY);
 
         // 清空列表，为下一个文件做准备
         headerInfoList.clear();
-        // 生成BaseQuery查询类
+        // 生成BaseQuery查询类，需要导入CountStrategy枚举
         headerInfoList.add("package " + Constants.PACKAGE_QUERY + ";");
+        headerInfoList.add("import " + Constants.PACKAGE_ENUM + ".CountStrategy;");
         build(headerInfoList, "BaseQuery", Constants.PATH_QUERY);
 
         // 清空列表，为下一个文件做准备
         headerInfoList.clear();
-        // 生成PaginationResultVO分页结果类，需要导入List和ArrayList
+        // 生成PaginationResultVO分页结果类，需要导入List、ArrayList和CountStrategy枚举
         headerInfoList.add("package " + Constants.PACKAGE_VO + ";");
         headerInfoList.add("import java.util.List;");
         headerInfoList.add("import java.util.ArrayList;");
+        headerInfoList.add("import " + Constants.PACKAGE_ENUM + ".CountStrategy;");
         build(headerInfoList, "PaginationResultVO", Constants.PATH_VO);
 
+        // 清空列表，为下一个文件做准备
+        headerInfoList.clear();
+        // 生成KeysetResultVO键集分页结果类，需要导入List、ArrayList和Map
+        headerInfoList.add("package " + Constants.PACKAGE_VO + ";");
+        headerInfoList.add("import java.util.List;");
+        headerInfoList.add("import java.util.ArrayList;");
+        headerInfoList.add("import java.util.Map;");
+        build(headerInfoList, "KeysetResultVO", Constants.PATH_VO);
+
+        // 清空列表，为下一个文件做准备
+        headerInfoList.clear();
+        // 生成BatchResultVO批量执行结果类，需要导入List和ArrayList
+        headerInfoList.add("package " + Constants.PACKAGE_VO + ";");
+        headerInfoList.add("import java.util.List;");
+        headerInfoList.add("import java.util.ArrayList;");
+        build(headerInfoList, "BatchResultVO", Constants.PATH_VO);
+
         // 清空列表，为下一个文件做准备
         headerInfoList.clear();
         // 生成BaseException异常类
@@ -114,20 +140,13 @@ public class BuildBase {
      * @param outPath 输出文件的路径
      */
     private static void build (List<String> headerInfoList, String fileName, String outPath){
-        // 创建输出目录文件夹
-        File folder = new File(outPath);
-        if (!folder.exists()){
-            // 如果目录不存在，则创建所有必要的父目录
-            folder.mkdirs();
-        }
-
         // 创建输出文件的完整路径
         File javaFile = new File(outPath, fileName + ".java");
 
+        // 先在内存中渲染文件内容，内容变化时才写入磁盘
+        StringWriter sw = new StringWriter();
         // 使用try-with-resources语句自动管理资源
-        try (OutputStream out = new FileOutputStream(javaFile);
-             OutputStreamWriter outw = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             BufferedWriter bw = new BufferedWriter(outw);
+        try (BufferedWriter bw = new BufferedWriter(sw);
              // 从类路径中读取模板文件
              InputStream in = new FileInputStream(Objects.requireNonNull(BuildBase.class.getClassLoader().getResource("template/" + fileName + ".txt")).getPath());
              InputStreamReader inr = new InputStreamReader(in, StandardCharsets.UTF_8);
@@ -149,6 +168,7 @@ public class BuildBase {
             }
             // 确保所有内容都被写入
             bw.flush();
+            BuildOutput.write(javaFile, sw.toString());
         } catch (Exception e) {
             // 如果发生异常，抛出运行时异常
             throw new RuntimeException(e);
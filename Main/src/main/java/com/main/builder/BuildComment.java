@@ -3,6 +3,7 @@ package com.main.builder;
 import com.main.bean.Constants;
 import com.main.utils.DateUtils;
 import com.main.utils.PropertiesUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.BufferedWriter;
 import java.util.Date;
@@ -22,10 +23,25 @@ public class BuildComment {
         bw.write("/**\n");
         bw.write(" * " + classComment + "\n");
         bw.write(" * @author " + Constants.AUTHOR_COMMENT + "\n");
-        bw.write(" * @since " + DateUtils.formatDate(new Date(), DateUtils.DATE_FORMAT_SLASH) + "\n");
+        String since = getSince();
+        if (since != null) {
+            bw.write(" * @since " + since + "\n");
+        }
         bw.write(" */\n");
     }
 
+    /**
+     * 获取类注释中@since的值
+     * 可重现模式下不使用当天日期，固定为配置的值或省略，保证相同输入生成相同内容
+     * @return @since的值，需要省略时返回null
+     */
+    public static String getSince() {
+        if (!Constants.GENERATE_REPRODUCIBLE) {
+            return DateUtils.formatDate(new Date(), DateUtils.DATE_FORMAT_SLASH);
+        }
+        return StringUtils.isEmpty(Constants.GENERATE_REPRODUCIBLE_SINCE) ? null : Constants.GENERATE_REPRODUCIBLE_SINCE;
+    }
+
     /**
      * 创建方法注释
      * @param bw BufferedWriter对象，用于写入生成的注释
@@ -0,0 +1,235 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * BuildOutput类负责把生成的内容写入文件
+ * 生成器先在内存中渲染出完整内容，只有内容与已有文件不同时才写盘，
+ * 未变化的文件保持原修改时间，避免IDE和Maven增量编译重新编译整个项目。
+ * 按output.mode配置有三种输出方式：direct在生成线程中逐个写入；
+ * batch先把内容收集在内存中，累计达到output.batch.mb或生成结束调用flush时按路径顺序写入一批，
+ * 每个目录只创建一次，通过FileChannel写入；zip把所有文件收集在内存中，生成结束时一次写入一个zip文件。
+ * 该类可被多个生成线程同时调用，计数器为原子变量，写入一批时加锁
+ */
+public class BuildOutput {
+    private static final Logger logger = LoggerFactory.getLogger(BuildOutput.class);
+
+    private static final String MODE_BATCH = "batch";
+    private static final String MODE_ZIP = "zip";
+    // 可重现生成时zip中文件的修改时间，避开zip格式最早日期在不同时区下的换算问题
+    private static final LocalDateTime REPRODUCIBLE_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+    // 实际写入的文件数
+    private static final AtomicInteger writeCount = new AtomicInteger();
+    // 内容未变化而跳过的文件数
+    private static final AtomicInteger skipCount = new AtomicInteger();
+    // 实际写入的字节数
+    private static final AtomicLong bytesWritten = new AtomicLong();
+
+    // batch和zip方式下等待写入的文件内容
+    private static final Map<File, byte[]> PENDING_MAP = new ConcurrentHashMap<>();
+    // 等待写入的字节数
+    private static final AtomicLong pendingBytes = new AtomicLong();
+    // 已经创建过的目录，同一目录不重复创建
+    private static final Set<Path> CREATED_FOLDERS = ConcurrentHashMap.newKeySet();
+    // 生成过程中批量写入失败的异常，生成结束时再次抛出，避免失败的文件被记录到生成清单
+    private static volatile IOException flushError;
+
+    /**
+     * 写入文件，内容与已有文件一致时跳过；batch和zip方式下只放入内存，由flush写入
+     * @param file 目标文件
+     * @param content 文件内容
+     * @throws IOException 读写文件失败
+     */
+    public static void write(File file, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (isBatch() || isArchive()) {
+            byte[] replaced = PENDING_MAP.put(file.getAbsoluteFile(), bytes);
+            long pending = pendingBytes.addAndGet(bytes.length - (replaced == null ? 0 : replaced.length));
+            if (isBatch() && pending >= Constants.OUTPUT_BATCH_MB * 1024L * 1024L) {
+                flush();
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            writeFile(file.toPath(), bytes);
+        } finally {
+            BuildReport.addWriteNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 写入内存中等待写入的文件，direct方式下没有等待写入的文件，不做任何操作
+     * batch方式下按路径顺序逐个写入，zip方式下把本次生成的所有文件写入一个zip文件
+     * @throws IOException 写入失败
+     */
+    public static synchronized void flush() throws IOException {
+        if (flushError != null) {
+            throw new IOException("批量写入文件失败", flushError);
+        }
+        if (PENDING_MAP.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        // 按路径排序，同一目录下的文件连续写入，zip中的顺序也保持稳定
+        Map<File, byte[]> batchMap = new TreeMap<>();
+        for (File file : new ArrayList<>(PENDING_MAP.keySet())) {
+            byte[] bytes = PENDING_MAP.remove(file);
+            if (bytes != null) {
+                batchMap.put(file, bytes);
+                pendingBytes.addAndGet(-bytes.length);
+            }
+        }
+        try {
+            if (isArchive()) {
+                writeZip(batchMap);
+            } else {
+                for (Map.Entry<File, byte[]> entry : batchMap.entrySet()) {
+                    writeFile(entry.getKey().toPath(), entry.getValue());
+                }
+            }
+        } catch (IOException e) {
+            flushError = e;
+            throw e;
+        } finally {
+            BuildReport.recordPhase("flush", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 是否打包为zip文件输出，此时生成的文件不写入path.base目录
+     * @return output.mode为zip时返回true
+     */
+    public static boolean isArchive() {
+        return MODE_ZIP.equalsIgnoreCase(Constants.OUTPUT_MODE);
+    }
+
+    private static boolean isBatch() {
+        return MODE_BATCH.equalsIgnoreCase(Constants.OUTPUT_MODE);
+    }
+
+    /**
+     * 写入一个文件，内容与已有文件一致时跳过
+     * @param path 目标文件
+     * @param bytes 文件内容
+     * @throws IOException 读写文件失败
+     */
+    private static void writeFile(Path path, byte[] bytes) throws IOException {
+        // 先比较长度，长度一致再逐字节比较，不需要额外计算摘要
+        if (sizeOf(path) == bytes.length && Arrays.equals(Files.readAllBytes(path), bytes)) {
+            skipCount.incrementAndGet();
+            return;
+        }
+        Path folder = path.toAbsolutePath().getParent();
+        // 创建输出目录文件夹，多个线程同时创建同一目录时不会失败
+        if (CREATED_FOLDERS.add(folder)) {
+            Files.createDirectories(folder);
+        }
+        try {
+            writeChannel(path, bytes);
+        } catch (NoSuchFileException e) {
+            // 目录在生成过程中被删除时重新创建
+            Files.createDirectories(folder);
+            writeChannel(path, bytes);
+        }
+        writeCount.incrementAndGet();
+        bytesWritten.addAndGet(bytes.length);
+    }
+
+    private static void writeChannel(Path path, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * 获取文件大小
+     * @param path 文件路径
+     * @return 文件大小，文件不存在时返回-1
+     */
+    private static long sizeOf(Path path) throws IOException {
+        try {
+            return Files.size(path);
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 把文件写入zip，zip中的路径相对于path.base，先写入临时文件，完成后替换原文件
+     * @param batchMap 文件到内容的映射，按路径排序
+     * @throws IOException 写入失败
+     */
+    private static void writeZip(Map<File, byte[]> batchMap) throws IOException {
+        Path zipPath = Paths.get(Constants.OUTPUT_ZIP_PATH).toAbsolutePath();
+        Path root = Paths.get(Constants.PATH_ROOT).toAbsolutePath().normalize();
+        Files.createDirectories(zipPath.getParent());
+        Path tempPath = Files.createTempFile(zipPath.getParent(), zipPath.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath), 64 * 1024);
+                 ZipOutputStream zos = new ZipOutputStream(out)) {
+                for (Map.Entry<File, byte[]> entry : batchMap.entrySet()) {
+                    Path path = entry.getKey().toPath().normalize();
+                    Path entryPath = path.startsWith(root) ? root.relativize(path) : path.getFileName();
+                    ZipEntry zipEntry = new ZipEntry(entryPath.toString().replace('\\', '/'));
+                    // 可重现生成时使用固定的修改时间，相同输入生成的zip文件完全一致
+                    if (Constants.GENERATE_REPRODUCIBLE) {
+                        zipEntry.setTimeLocal(REPRODUCIBLE_TIME);
+                    }
+                    zos.putNextEntry(zipEntry);
+                    zos.write(entry.getValue());
+                    zos.closeEntry();
+                    writeCount.incrementAndGet();
+                    bytesWritten.addAndGet(entry.getValue().length);
+                }
+            }
+            Files.move(tempPath, zipPath, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("已将{}个文件打包到{}", batchMap.size(), zipPath);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    public static int getWriteCount() {
+        return writeCount.get();
+    }
+
+    public static int getSkipCount() {
+        return skipCount.get();
+    }
+
+    public static long getBytesWritten() {
+        return bytesWritten.get();
+    }
+}
@@ -0,0 +1,227 @@
+package com.main.builder;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import com.main.bean.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BuildReport类用于统计一次生成的耗时和输出情况，并在生成结束后写入JSON格式的报告文件
+ * 统计内容包括各阶段耗时、每张表各阶段的耗时、每个生成器的渲染和写入耗时、写入的字节数、
+ * 内容未变化跳过的文件数以及各堆内存区域峰值之和，可用于比较不同版本的生成性能；
+ * 同时列出每张表查询类中没有索引可用的查询条件，便于避免在频繁调用的接口中使用。
+ * 各统计方法可被多个线程同时调用
+ */
+public class BuildReport {
+    private static final Logger logger = LoggerFactory.getLogger(BuildReport.class);
+
+    // 生成开始时间
+    private static final LocalDateTime START_TIME = LocalDateTime.now();
+    private static final long START_NANOS = System.nanoTime();
+
+    // 阶段名称到耗时统计的映射
+    private static final Map<String, Stat> PHASE_MAP = new ConcurrentHashMap<>();
+    // 生成器名称到渲染耗时统计的映射
+    private static final Map<String, Stat> RENDER_MAP = new ConcurrentHashMap<>();
+    // 生成器名称到写入耗时统计的映射
+    private static final Map<String, Stat> WRITE_MAP = new ConcurrentHashMap<>();
+    // 表名到该表各阶段耗时（纳秒）的映射
+    private static final Map<String, Map<String, Long>> TABLE_MAP = new ConcurrentHashMap<>();
+    // 当前线程中BuildOutput写入文件的累计耗时，用于从生成器耗时中区分渲染和写入
+    private static final ThreadLocal<long[]> WRITE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+    // 生成结果统计
+    private static final Map<String, Integer> SUMMARY_MAP = new ConcurrentHashMap<>();
+    // 每张表查询类中没有索引可用的查询条件属性
+    private static final Map<String, List<String>> UNINDEXED_FILTER_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一个阶段的耗时，同一阶段多次记录时累加
+     * @param phase 阶段名称，如connection、tableStatus
+     * @param nanos 耗时（纳秒）
+     */
+    public static void recordPhase(String phase, long nanos) {
+        PHASE_MAP.computeIfAbsent(phase, k -> new Stat()).add(nanos);
+    }
+
+    /**
+     * 记录一张表某个阶段的耗时，同时累加到该阶段的总耗时
+     * @param tableName 表名
+     * @param phase 阶段名称，如fields、indexes
+     * @param nanos 耗时（纳秒）
+     */
+    public static void recordTable(String tableName, String phase, long nanos) {
+        recordPhase(phase, nanos);
+        addTable(tableName, phase, nanos);
+    }
+
+    /**
+     * 记录一个生成器为一张表生成文件的耗时，按当前线程的写入耗时拆分为渲染和写入
+     * @param tableName 表名
+     * @param builderName 生成器名称
+     * @param nanos 生成器总耗时（纳秒）
+     * @param writeNanos 其中写入文件的耗时（纳秒）
+     */
+    public static void recordBuilder(String tableName, String builderName, long nanos, long writeNanos) {
+        RENDER_MAP.computeIfAbsent(builderName, k -> new Stat()).add(nanos - writeNanos);
+        WRITE_MAP.computeIfAbsent(builderName, k -> new Stat()).add(writeNanos);
+        recordPhase("render", nanos - writeNanos);
+        recordPhase("write", writeNanos);
+        addTable(tableName, builderName, nanos);
+    }
+
+    /**
+     * 累加一张表某个阶段的耗时，未开启报告时不记录，避免表很多时占用内存
+     * @param tableName 表名
+     * @param phase 阶段名称
+     * @param nanos 耗时（纳秒）
+     */
+    private static void addTable(String tableName, String phase, long nanos) {
+        if (Constants.REPORT_ENABLED) {
+            TABLE_MAP.computeIfAbsent(tableName, k -> new ConcurrentHashMap<>()).merge(phase, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * 累加当前线程写入文件的耗时，由BuildOutput调用
+     * @param nanos 耗时（纳秒）
+     */
+    static void addWriteNanos(long nanos) {
+        WRITE_NANOS.get()[0] += nanos;
+    }
+
+    /**
+     * 获取当前线程写入文件的累计耗时
+     * @return 耗时（纳秒）
+     */
+    static long getWriteNanos() {
+        return WRITE_NANOS.get()[0];
+    }
+
+    /**
+     * 记录生成结果统计
+     * @param name 统计项名称
+     * @param value 统计值
+     */
+    public static void recordSummary(String name, int value) {
+        SUMMARY_MAP.put(name, value);
+    }
+
+    /**
+     * 记录一张表查询类中没有索引可用的查询条件属性，没有时移除该表的记录
+     * @param tableName 表名
+     * @param propertyNameList 属性名列表
+     */
+    public static void recordUnindexedFilters(String tableName, List<String> propertyNameList) {
+        if (propertyNameList.isEmpty()) {
+            UNINDEXED_FILTER_MAP.remove(tableName);
+        } else {
+            UNINDEXED_FILTER_MAP.put(tableName, propertyNameList);
+        }
+    }
+
+    /**
+     * 写入报告文件，未开启报告时不做任何操作
+     */
+    public static void write() {
+        if (!Constants.REPORT_ENABLED) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startTime", START_TIME.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        report.put("totalMs", toMillis(System.nanoTime() - START_NANOS));
+        report.put("summary", new TreeMap<>(SUMMARY_MAP));
+
+        Map<String, Object> files = new LinkedHashMap<>();
+        files.put("written", BuildOutput.getWriteCount());
+        files.put("skipped", BuildOutput.getSkipCount());
+        files.put("bytesWritten", BuildOutput.getBytesWritten());
+        report.put("files", files);
+        report.put("heapPoolPeakSumBytes", getHeapPoolPeakSum());
+
+        Map<String, Object> phases = new TreeMap<>();
+        PHASE_MAP.forEach((phase, stat) -> phases.put(phase, stat.toMap()));
+        report.put("phases", phases);
+
+        Map<String, Object> builders = new TreeMap<>();
+        RENDER_MAP.forEach((builderName, stat) -> {
+            Map<String, Object> builder = new LinkedHashMap<>();
+            builder.put("count", stat.count.sum());
+            builder.put("renderMs", toMillis(stat.nanos.sum()));
+            builder.put("writeMs", toMillis(WRITE_MAP.get(builderName).nanos.sum()));
+            builders.put(builderName, builder);
+        });
+        report.put("builders", builders);
+
+        Map<String, Object> tables = new TreeMap<>();
+        TABLE_MAP.forEach((tableName, phaseMap) -> {
+            Map<String, Object> table = new TreeMap<>();
+            phaseMap.forEach((phase, nanos) -> table.put(phase, toMillis(nanos)));
+            tables.put(tableName, table);
+        });
+        report.put("tables", tables);
+        report.put("unindexedFilters", new TreeMap<>(UNINDEXED_FILTER_MAP));
+
+        File file = new File(Constants.REPORT_PATH);
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            Files.write(file.toPath(), JSON.toJSONBytes(report, JSONWriter.Feature.PrettyFormat));
+            logger.info("生成报告已写入{}", file.getAbsolutePath());
+        } catch (Exception e) {
+            logger.warn("写入生成报告失败", e);
+        }
+    }
+
+    /**
+     * 获取JVM启动以来各堆内存区域峰值之和
+     * 各区域的峰值出现在不同时刻，结果是堆内存实际峰值的上限，只适合在相同JVM参数下比较
+     * @return 各堆内存区域峰值之和（字节）
+     */
+    private static long getHeapPoolPeakSum() {
+        long peak = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP && memoryPool.getPeakUsage() != null) {
+                peak += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    /**
+     * 耗时统计，记录次数和累计耗时
+     */
+    private static class Stat {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void add(long value) {
+            count.increment();
+            nanos.add(value);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count.sum());
+            map.put("ms", toMillis(nanos.sum()));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import com.main.bean.TableInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * BuildRunner类负责按表执行各个代码生成器
+ * 读取表结构的线程把表信息放入有界队列，生成线程边读取边生成，队列满时读取线程等待，
+ * 同时在内存中的表数量不超过队列容量加上生成中的表数量，与库中表的总数无关。
+ * 每张表的每个生成器都是独立的任务，可在ForkJoinPool中并行执行，
+ * 各生成器只读取Constants和表信息，输出通过BuildOutput写入各自的文件，没有共享的可变状态，
+ * 所有表生成结束后再由BuildOutput写入批量或打包输出方式下留在内存中的文件。
+ * 无论是否并行，日志和生成清单都按表的读取顺序和生成器的顺序处理，保证输出顺序确定
+ */
+public class BuildRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BuildRunner.class);
+
+    // 生成器名称到生成方法的映射，按生成顺序排列
+    private static final Map<String, Consumer<TableInfo>> BUILDER_MAP = new LinkedHashMap<>();
+
+    // 队列结束标记，读取表结构结束后放入队列
+    private static final TableInfo END = new TableInfo();
+
+    static {
+        BUILDER_MAP.put("BuildPo", BuildPo::execute);
+        BUILDER_MAP.put("BuildQuery", BuildQuery::execute);
+        BUILDER_MAP.put("BuildMapper", BuildMapper::execute);
+        BUILDER_MAP.put("BuildMapperXml", BuildMapperXml::execute);
+        BUILDER_MAP.put("BuildService", BuildService::execute);
+        BUILDER_MAP.put("BuildServiceImpl", BuildServiceImpl::execute);
+        BUILDER_MAP.put("BuildController", BuildController::execute);
+    }
+
+    /**
+     * 边读取表结构边为所有表生成代码
+     */
+    public static void execute() {
+        execute(BuildTable::getTables);
+    }
+
+    /**
+     * 为指定的表生成代码
+     * @param tableInfoList 表信息列表
+     */
+    public static void execute(List<TableInfo> tableInfoList) {
+        execute(tableInfoList::forEach);
+    }
+
+    /**
+     * 只重新读取并生成指定的表，生成清单中其余表的记录保持不变，供监听方式在表结构变化后调用
+     * @param tableNames 需要重新生成的表名，其中已不存在的表从生成清单中移除
+     */
+    static void execute(Set<String> tableNames) {
+        TableFilter.restrictTo(tableNames);
+        try {
+            execute(BuildTable::getTables, tableNames);
+        } finally {
+            TableFilter.restrictTo(null);
+        }
+    }
+
+    /**
+     * 为表来源提供的所有表生成代码
+     * @param tableSource 表来源，在单独的读取线程中调用，把每张表交给传入的consumer
+     */
+    private static void execute(Consumer<Consumer<TableInfo>> tableSource) {
+        execute(tableSource, null);
+    }
+
+    /**
+     * 为表来源提供的表生成代码
+     * 表结构和配置都未变化的表直接跳过，其余表的生成任务按配置的并行度执行
+     * @param tableSource 表来源，在单独的读取线程中调用，把每张表交给传入的consumer
+     * @param tableNames 只生成部分表时为这些表的表名，生成清单保留其余表的记录；生成全部表时为null
+     */
+    private static void execute(Consumer<Consumer<TableInfo>> tableSource, Set<String> tableNames) {
+        // 加载上次的生成清单，跳过表结构和配置都未变化的表
+        GenerationManifest manifest = GenerationManifest.load();
+        BlockingQueue<TableInfo> tableQueue = new ArrayBlockingQueue<>(Constants.GENERATE_QUEUE_CAPACITY);
+        Summary summary = new Summary();
+
+        // 读取表结构的线程，设置为守护线程，生成失败退出时不会阻塞在已满的队列上
+        Thread producer = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                tableSource.accept(tableInfo -> put(tableQueue, tableInfo));
+            } catch (Exception e) {
+                // 结束标记入队之前写入，主线程取到结束标记后可见
+                summary.introspectFailed = true;
+                logger.error("读取表结构失败", e);
+            } finally {
+                BuildReport.recordPhase("introspect", System.nanoTime() - start);
+                put(tableQueue, END);
+            }
+        }, "table-reader");
+        producer.setDaemon(true);
+        producer.start();
+
+        ForkJoinPool pool = Constants.GENERATE_PARALLELISM > 1 ? new ForkJoinPool(Constants.GENERATE_PARALLELISM) : null;
+        // 按读取顺序排列的生成中的表
+        Deque<TableTask> taskQueue = new ArrayDeque<>();
+        // 监听方式下会多次生成，文件计数只统计本次生成
+        int writeStart = BuildOutput.getWriteCount();
+        int skipStart = BuildOutput.getSkipCount();
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                TableInfo tableInfo = tableQueue.take();
+                if (tableInfo == END) {
+                    break;
+                }
+                summary.tableCount++;
+                taskQueue.add(submit(pool, tableInfo, manifest.isUpToDate(tableInfo)));
+                // 按顺序处理已完成的表，生成中的表达到队列容量时等待最早的表完成
+                while (!taskQueue.isEmpty() && (taskQueue.peek().isDone() || taskQueue.size() >= Constants.GENERATE_QUEUE_CAPACITY)) {
+                    finish(taskQueue.poll(), manifest, summary);
+                }
+            }
+            while (!taskQueue.isEmpty()) {
+                finish(taskQueue.poll(), manifest, summary);
+            }
+            // 写入batch和zip方式下留在内存中的文件，写入成功后才保存生成清单
+            BuildOutput.flush();
+            // 读取表结构失败或生成全部表时没有读取到表，不保存，保留上次的生成清单
+            if (summary.introspectFailed || (tableNames == null && summary.tableCount == 0)) {
+                logger.warn("未完整读取表结构，不更新生成清单");
+            } else {
+                if (tableNames != null) {
+                    manifest.retainOthers(tableNames);
+                }
+                manifest.save();
+            }
+            BuildReport.recordPhase("generate", System.nanoTime() - start);
+            BuildReport.recordSummary("tables", summary.tableCount);
+            BuildReport.recordSummary("generated", summary.tableCount - summary.failCount - summary.skipCount);
+            BuildReport.recordSummary("failed", summary.failCount);
+            BuildReport.recordSummary("upToDate", summary.skipCount);
+            logger.info("共{}张表，重新生成{}张，失败{}张，跳过未变化的{}张", summary.tableCount,
+                    summary.tableCount - summary.failCount - summary.skipCount, summary.failCount, summary.skipCount);
+            logger.info("写入文件{}个，内容未变化跳过{}个", BuildOutput.getWriteCount() - writeStart, BuildOutput.getSkipCount() - skipStart);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("生成代码被中断", e);
+        } catch (IOException e) {
+            throw new RuntimeException("写入生成文件失败", e);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 提交一张表所有生成器的任务，未开启并行时在当前线程依次执行
+     * @param pool 生成线程池，未开启并行时为null
+     * @param tableInfo 表信息对象
+     * @param upToDate 表是否无需重新生成
+     * @return 表的生成任务
+     */
+    private static TableTask submit(ForkJoinPool pool, TableInfo tableInfo, boolean upToDate) {
+        List<Future<?>> futureList = new ArrayList<>();
+        if (!upToDate) {
+            for (Map.Entry<String, Consumer<TableInfo>> entry : BUILDER_MAP.entrySet()) {
+                Runnable task = () -> runBuilder(entry.getKey(), entry.getValue(), tableInfo);
+                futureList.add(pool != null ? pool.submit(task) : runTask(task));
+            }
+        }
+        return new TableTask(tableInfo, upToDate, futureList);
+    }
+
+    /**
+     * 等待一张表的生成任务结束，按生成器的顺序记录失败日志，全部生成成功的表才记录到生成清单
+     * @param tableTask 表的生成任务
+     * @param manifest 生成清单
+     * @param summary 生成结果统计
+     * @throws InterruptedException 等待被中断
+     */
+    private static void finish(TableTask tableTask, GenerationManifest manifest, Summary summary) throws InterruptedException {
+        TableInfo tableInfo = tableTask.tableInfo;
+        BuildReport.recordUnindexedFilters(tableInfo.getTableName(), TemplateModel.getUnindexedFilters(tableInfo));
+        if (tableTask.upToDate) {
+            manifest.update(tableInfo);
+            summary.skipCount++;
+            return;
+        }
+        boolean success = true;
+        List<String> builderNameList = new ArrayList<>(BUILDER_MAP.keySet());
+        for (int i = 0; i < builderNameList.size(); i++) {
+            try {
+                tableTask.futureList.get(i).get();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                success = false;
+                logger.error("表{}执行{}失败", tableInfo.getTableName(), builderNameList.get(i), e.getCause());
+            }
+        }
+        if (success) {
+            manifest.update(tableInfo);
+            logger.debug("表{}生成完成", tableInfo.getTableName());
+        } else {
+            manifest.remove(tableInfo);
+            summary.failCount++;
+        }
+    }
+
+    /**
+     * 执行一个生成器，并记录渲染和写入耗时
+     * @param builderName 生成器名称
+     * @param builder 生成方法
+     * @param tableInfo 表信息对象
+     */
+    private static void runBuilder(String builderName, Consumer<TableInfo> builder, TableInfo tableInfo) {
+        long start = System.nanoTime();
+        long writeStart = BuildReport.getWriteNanos();
+        try {
+            builder.accept(tableInfo);
+        } finally {
+            BuildReport.recordBuilder(tableInfo.getTableName(), builderName, System.nanoTime() - start,
+                    BuildReport.getWriteNanos() - writeStart);
+        }
+    }
+
+    /**
+     * 把表信息放入队列，队列已满时等待
+     * @param tableQueue 表信息队列
+     * @param tableInfo 表信息对象
+     */
+    private static void put(BlockingQueue<TableInfo> tableQueue, TableInfo tableInfo) {
+        try {
+            tableQueue.put(tableInfo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("读取表结构被中断", e);
+        }
+    }
+
+    /**
+     * 在当前线程执行任务，并把结果包装为已完成的Future
+     * @param task 生成任务
+     * @return 已完成的Future，任务失败时get()抛出ExecutionException
+     */
+    private static Future<?> runTask(Runnable task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            task.run();
+            future.complete(null);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 一张表的生成任务
+     */
+    private static class TableTask {
+        private final TableInfo tableInfo;
+        private final boolean upToDate;
+        private final List<Future<?>> futureList;
+
+        private TableTask(TableInfo tableInfo, boolean upToDate, List<Future<?>> futureList) {
+            this.tableInfo = tableInfo;
+            this.upToDate = upToDate;
+            this.futureList = futureList;
+        }
+
+        private boolean isDone() {
+            for (Future<?> future : futureList) {
+                if (!future.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 生成结果统计，除读取失败标记外只在生成的主线程中修改
+     */
+    private static class Summary {
+        private int tableCount;
+        private int failCount;
+        private int skipCount;
+        private boolean introspectFailed;
+    }
+}
@@ -2,8 +2,11 @@ package com.main.builder;
 
 import com.main.bean.Constants;
 import com.main.bean.FieldInfo;
+import com.main.bean.IndexInfo;
 import com.main.bean.TableInfo;
 import com.main.utils.BooleanUtils;
+import com.main.utils.ConnectionPool;
+import com.main.utils.HashUtils;
 import com.main.utils.JsonUtils;
 import com.main.utils.PropertiesUtils;
 import com.main.utils.StringUtils;
@@ -11,74 +14,127 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
-import java.sql.DriverManager;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * BuildTable类用于管理数据库连接和获取表信息
- * 提供了数据库连接的创建、关闭以及获取表信息的功能
+ * 提供了数据库连接池的创建、关闭以及获取表信息的功能，支持多线程并行读取表结构，
+ * 表信息的读取方式由TableIntrospector决定，本类同时包含MySQL读取器的实现以及各读取器共用的组装方法
  */
 public class BuildTable {
     // 使用Logger记录日志信息
     private static final Logger logger = LoggerFactory.getLogger(BuildTable.class);
-    // 数据库连接对象
-    private static Connection conn = null;
+    // 数据库连接池，首次使用时创建
+    private static ConnectionPool pool = null;
+    // 连接池是否已初始化（初始化失败时不再重试）
+    private static boolean poolInitialized = false;
 
-    // SQL查询语句，用于获取表状态信息
-    private static final String SQL_SHOW_TABLE_STATUS = "show table status";
+    // SQL查询语句，用于获取表状态信息，%s为表过滤条件
+    private static final String SQL_SHOW_TABLE_STATUS = "show table status%s";
     private static final String SQL_SHOW_TABLE_FIELD = "show full fields from %s";
     private static final String SQL_SHOW_TABLE_INDEX= "show index from %s";
 
-    // 静态代码块，用于初始化数据库连接
+    // 批量模式下的SQL查询语句，一次性读取整个库的表、字段、索引信息，%s为表过滤条件
+    private static final String SQL_SELECT_TABLES = "select table_name, table_comment from information_schema.TABLES where table_schema = database()%s order by table_name";
+    private static final String SQL_SELECT_COLUMNS = "select table_name, column_name, column_type, column_comment, extra, is_nullable from information_schema.COLUMNS where table_schema = database()%s order by table_name, ordinal_position";
+    // STATISTICS不保证返回顺序，按表名排序，索引内按列顺序排序，索引之间的顺序由sortIndexes统一
+    private static final String SQL_SELECT_INDEXES = "select table_name, index_name, non_unique, column_name, index_type from information_schema.STATISTICS where table_schema = database()%s " +
+            "order by table_name, index_name, seq_in_index";
+    // 按表计算指纹的查询语句，字段和索引定义取crc32之和，不受DML引起的update_time变化影响，%s为表过滤条件
+    private static final String SQL_SELECT_TABLE_COMMENTS = "select table_name, table_comment from information_schema.TABLES where table_schema = database()%s";
+    private static final String SQL_SELECT_COLUMN_CHECKSUMS = "select table_name, count(1) item_count, " +
+            "sum(crc32(concat_ws('|', ordinal_position, column_name, column_type, column_comment, extra, is_nullable))) checksum " +
+            "from information_schema.COLUMNS where table_schema = database()%s group by table_name";
+    private static final String SQL_SELECT_INDEX_CHECKSUMS = "select table_name, count(1) item_count, " +
+            "sum(crc32(concat_ws('|', index_name, non_unique, seq_in_index, column_name, index_type))) checksum " +
+            "from information_schema.STATISTICS where table_schema = database()%s group by table_name";
+    // 内置的表结构读取器
+    private static final Map<String, TableIntrospector> INTROSPECTOR_MAP = new HashMap<>();
+
     static {
+        INTROSPECTOR_MAP.put("mysql", BuildTable::getMysqlTables);
+        INTROSPECTOR_MAP.put("jdbc", BuildTableJdbc::getTables);
+        INTROSPECTOR_MAP.put("ddl", BuildTableDdl::getTables);
+    }
+
+    // 影响表信息生成结果的配置项，参与指纹计算
+    private static final String[] FINGERPRINT_CONFIG_KEYS = {"ignore.table.prefix", "suffix.bean.parma", "suffix.bean.query.fuzzy",
+            "suffix.bean.query.time.start", "suffix.bean.query.time.end"};
+
+    /**
+     * 获取数据库连接池，首次调用时创建连接池并建立第一个连接
+     * 连接池大小与表结构读取的并行度一致，每个工作线程独占一个连接
+     * @return 数据库连接池，连接失败时返回null
+     */
+    static synchronized ConnectionPool getPool() {
+        if (poolInitialized) {
+            return pool;
+        }
+        poolInitialized = true;
         // 从配置文件中获取数据库连接信息
         String driverName = PropertiesUtils.getString("db.driver.name");
         String url = PropertiesUtils.getString("db.url");
         String username = PropertiesUtils.getString("db.username");
         String password = PropertiesUtils.getString("db.password");
+        long start = System.nanoTime();
         try {
             // 加载数据库驱动
             Class.forName(driverName);
-            // 建立数据库连接
-            conn = DriverManager.getConnection(url, username, password);
-            
+            // 创建连接池并建立第一个连接，验证连接信息
+            ConnectionPool newPool = new ConnectionPool(url, username, password, Constants.DB_INTROSPECT_PARALLELISM);
+            newPool.release(newPool.getConnection());
+            pool = newPool;
+
             // 添加关闭钩子，确保程序退出时关闭连接
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 closeConnection();
             }));
-            
+
             // 记录连接成功的日志
             logger.info("数据库连接成功");
         } catch (Exception e) {
             // 记录连接失败的日志
             logger.error("数据库连接失败", e);
         }
+        BuildReport.recordPhase("connection", System.nanoTime() - start);
+        return pool;
     }
 
     /**
      * 关闭数据库连接的方法
-     * 确保连接被正确关闭，并记录相应的日志信息
+     * 确保连接池中的连接被正确关闭，并记录相应的日志信息
      */
-    public static void closeConnection() {
-        if (conn != null) {
+    public static synchronized void closeConnection() {
+        if (pool != null) {
             try {
-                // 关闭数据库连接
-                conn.close();
+                // 关闭连接池中的所有连接
+                pool.close();
                 // 记录连接已关闭的日志
                 logger.info("数据库连接已关闭");
             } catch (SQLException e) {
                 // 记录关闭连接失败的日志
                 logger.error("关闭数据库连接失败", e);
             } finally {
-                // 将连接对象置为null
-                conn = null;
+                // 将连接池置为null
+                pool = null;
             }
         }
     }
@@ -88,70 +144,469 @@ public class BuildTable {
      * 包括表名和表的注释
      */
     public static List<TableInfo> getTables() {
+        List<TableInfo> tableList = new ArrayList<>();
+        getTables(tableList::add);
+        return tableList;
+    }
+
+    /**
+     * 使用配置的表结构读取器逐张读取表信息，每读完一张表就交给consumer处理
+     * 调用方处理完的表不再被引用，读取大库时内存占用与表的数量无关
+     * @param consumer 表信息的处理方法，在读取表结构的线程中调用，可阻塞以限制读取速度
+     */
+    public static void getTables(Consumer<TableInfo> consumer) {
+        TableIntrospector introspector = getIntrospector();
+        if (introspector != null) {
+            introspector.getTables(consumer);
+        }
+    }
+
+    /**
+     * 获取使用的表结构读取器名称
+     * db.introspector配置为mysql、jdbc、ddl或TableIntrospector实现类的类名；未配置时，配置了ddl.path则使用ddl，
+     * 数据库地址为MySQL时使用mysql，其他数据库（如MySQL模式的H2）使用jdbc
+     * @return 读取器名称
+     */
+    static String getIntrospectorName() {
+        String name = Constants.DB_INTROSPECTOR;
+        if (org.apache.commons.lang3.StringUtils.isEmpty(name)) {
+            if (!org.apache.commons.lang3.StringUtils.isEmpty(Constants.DDL_PATH)) {
+                return "ddl";
+            }
+            String url = PropertiesUtils.getString("db.url");
+            return url != null && url.startsWith("jdbc:mysql:") ? "mysql" : "jdbc";
+        }
+        return name;
+    }
+
+    /**
+     * 根据db.introspector配置获取表结构读取器
+     * @return 表结构读取器，实现类无法创建时返回null
+     */
+    private static TableIntrospector getIntrospector() {
+        String name = getIntrospectorName();
+        TableIntrospector introspector = INTROSPECTOR_MAP.get(name);
+        if (introspector != null) {
+            return introspector;
+        }
+        try {
+            return (TableIntrospector) Class.forName(name).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            logger.error("创建表结构读取器{}失败", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * 通过MySQL的show语句读取表信息，库结构未变化时使用本地快照
+     * @param consumer 表信息的处理方法
+     */
+    static void getMysqlTables(Consumer<TableInfo> consumer) {
         // 检查数据库连接是否存在
-        if (conn == null) {
+        ConnectionPool pool = getPool();
+        if (pool == null) {
             logger.warn("数据库连接未建立，无法获取表信息");
-            return new ArrayList<>();
+            return;
+        }
+
+        // 未开启快照时直接读取表结构，只读取部分表时指纹同样只由这些表计算，快照与指纹对应的表范围一致
+        if (!Constants.SNAPSHOT_ENABLED) {
+            readTables(pool, consumer);
+            return;
         }
 
+        // 指纹与快照一致时直接使用快照，跳过字段和索引查询
+        long start = System.nanoTime();
+        String fingerprint = getSchemaFingerprint(pool);
+        BuildReport.recordPhase("fingerprint", System.nanoTime() - start);
+        if (fingerprint == null) {
+            readTables(pool, consumer);
+            return;
+        }
+        start = System.nanoTime();
+        List<TableInfo> tableList = SchemaSnapshot.load(fingerprint);
+        BuildReport.recordPhase("snapshotLoad", System.nanoTime() - start);
+        if (tableList != null) {
+            tableList.forEach(consumer);
+            return;
+        }
+        // 读取的同时逐张写入快照，全部读取成功才替换原快照
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.open(fingerprint)) {
+            boolean success = readTables(pool, tableInfo -> {
+                writer.append(tableInfo);
+                consumer.accept(tableInfo);
+            });
+            if (success) {
+                writer.commit();
+            }
+        }
+    }
+
+    /**
+     * 计算库结构指纹
+     * 由各表的注释、字段和索引定义的校验和以及相关配置项计算得出，字段类型、是否可为空、注释或索引的任一变化都会使快照失效
+     * @param pool 数据库连接池
+     * @return 指纹字符串，查询失败时返回null
+     */
+    private static String getSchemaFingerprint(ConnectionPool pool) {
+        Map<String, String> tableFingerprintMap = readTableFingerprints(pool);
+        if (tableFingerprintMap == null) {
+            logger.warn("计算表结构指纹失败，不使用快照");
+            return null;
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        for (String key : FINGERPRINT_CONFIG_KEYS) {
+            fingerprint.append(key).append('=').append(PropertiesUtils.getString(key)).append('\n');
+        }
+        tableFingerprintMap.forEach((tableName, tableFingerprint) -> fingerprint.append(tableName).append('|').append(tableFingerprint).append('\n'));
+        return HashUtils.sha256Hex(fingerprint.toString());
+    }
+
+    /**
+     * 按表计算MySQL表结构指纹，供监听方式判断哪些表发生了变化
+     * @return 表名到指纹的映射，查询失败时返回null
+     */
+    static Map<String, String> getTableFingerprints() {
+        ConnectionPool pool = getPool();
+        if (pool == null) {
+            return null;
+        }
+        return readTableFingerprints(pool);
+    }
+
+    /**
+     * 按表读取结构指纹
+     * 每次只执行三条聚合查询，由表注释以及字段、索引定义的数量和校验和组成
+     * @param pool 数据库连接池
+     * @return 按表名排序的表名到指纹的映射，查询失败时返回null
+     */
+    private static Map<String, String> readTableFingerprints(ConnectionPool pool) {
+        Map<String, StringBuilder> fingerprintMap = new TreeMap<>();
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            try (PreparedStatement ps = prepareFiltered(conn, SQL_SELECT_TABLE_COMMENTS, "table_name", " and ");
+                 ResultSet result = ps.executeQuery()) {
+                while (result.next()) {
+                    // 被过滤的表的变化不影响指纹
+                    if (TableFilter.accept(result.getString("table_name"))) {
+                        fingerprintMap.put(result.getString("table_name"), new StringBuilder(String.valueOf(result.getString("table_comment"))));
+                    }
+                }
+            }
+            for (String sql : new String[]{SQL_SELECT_COLUMN_CHECKSUMS, SQL_SELECT_INDEX_CHECKSUMS}) {
+                try (PreparedStatement ps = prepareFiltered(conn, sql, "table_name", " and ");
+                     ResultSet result = ps.executeQuery()) {
+                    while (result.next()) {
+                        StringBuilder fingerprint = fingerprintMap.get(result.getString("table_name"));
+                        if (fingerprint != null) {
+                            fingerprint.append('|').append(result.getLong("item_count")).append('|').append(result.getLong("checksum"));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("计算表结构指纹失败", e);
+            return null;
+        } finally {
+            pool.release(conn);
+        }
+        Map<String, String> resultMap = new TreeMap<>();
+        fingerprintMap.forEach((tableName, fingerprint) -> resultMap.put(tableName, fingerprint.toString()));
+        return resultMap;
+    }
+
+    /**
+     * 从数据库读取所有表的信息，按show table status的顺序逐张交给consumer处理
+     * 先读取只含表名和注释的表列表，再按表读取字段和索引，已交给consumer的表不再保留引用
+     * @param pool 数据库连接池
+     * @param consumer 表信息的处理方法
+     * @return 全部表都读取成功时返回true
+     */
+    private static boolean readTables(ConnectionPool pool, Consumer<TableInfo> consumer) {
     // 创建一个用于存储表信息的列表
         List<TableInfo> tableList = new ArrayList<>();
-        // 使用try-with-resources确保资源被正确关闭
-        try (PreparedStatement ps = conn.prepareStatement(SQL_SHOW_TABLE_STATUS);
-             ResultSet tableResult = ps.executeQuery()) {
-            
-            // 遍历结果集，输出表名和注释
-            while (tableResult.next()) {
-            // 获取表名和注释
-                String tableName = tableResult.getString("name");
-                String comment = tableResult.getString("comment");
-
-            // 处理bean名称，如果需要忽略表前缀
-                String beanName = tableName;
-                if (Constants.IGNORE_TABLE_PREFIX) {
-                    beanName = tableName.substring(tableName.indexOf("_") + 1);
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            // 批量模式，三条查询读取整个库的表结构，需要整库结果在内存中组装后再逐张交出，查询失败时改为逐表查询
+            if (Constants.DB_INTROSPECT_BULK) {
+                List<TableInfo> bulkList = getTablesBulk(conn);
+                if (bulkList != null) {
+                    for (int i = 0; i < bulkList.size(); i++) {
+                        emitTable(bulkList, i, consumer);
+                    }
+                    return true;
                 }
-            // 处理字段名称
-                beanName = processField(tableName, true);
-
-            // 创建表信息对象并设置基本信息
-                TableInfo tableInfo = new TableInfo();
-                tableInfo.setTableName(tableName);
-                tableInfo.setBeanName(beanName);
-                tableInfo.setComment(comment);
-            // 设置bean参数名称，添加后缀
-                tableInfo.setBeanParamName(beanName + Constants.SUFFIX_BEAN_QUERY);
-
-            // 读取字段信息和字段对应索引信息并设置到表信息对象中
-                readFieldInfo(tableInfo);
-                getIndexInfos(tableInfo);
-                logger.info("表{}", JsonUtils.toJson(tableInfo));
-            // 将表信息添加到列表中
-                tableList.add(tableInfo);
+                logger.warn("批量查询表信息失败，改为逐表查询");
             }
+
+            // 使用try-with-resources确保资源被正确关闭
+            long start = System.nanoTime();
+            try (PreparedStatement ps = prepareFiltered(conn, SQL_SHOW_TABLE_STATUS, "name", " where ");
+                 ResultSet tableResult = ps.executeQuery()) {
+
+                // 遍历结果集，获取表名和注释，创建表信息对象，跳过被过滤的表和表名不合法的表
+                while (tableResult.next()) {
+                    if (!TableFilter.accept(tableResult.getString("name")) || !checkTableName(tableResult.getString("name"))) {
+                        continue;
+                    }
+                    tableList.add(buildTableInfo(tableResult.getString("name"), tableResult.getString("comment")));
+                }
+            }
+            BuildReport.recordPhase("tableStatus", System.nanoTime() - start);
         } catch (SQLException e) {
             // 记录查询失败的日志
             logger.error("查询表信息失败", e);
+            return false;
+        } finally {
+            pool.release(conn);
+        }
+
+        // 读取字段信息和字段对应索引信息并设置到表信息对象中
+        if (Constants.DB_INTROSPECT_PARALLELISM > 1 && tableList.size() > 1) {
+            return readTableDetailsParallel(pool, tableList, consumer);
+        }
+        boolean success = true;
+        for (int i = 0; i < tableList.size(); i++) {
+            TableInfo tableInfo = tableList.get(i);
+            success &= readTableDetails(pool, tableInfo);
+            emitTable(tableList, i, consumer);
         }
+        return success;
+    }
 
+    /**
+     * 使用多个工作线程并行读取表的字段和索引信息
+     * 每个工作线程从连接池获取独占的连接，同时读取的表数量不超过并行度的两倍，
+     * 读取结果按show table status的顺序交给consumer，日志也按该顺序输出
+     * @param pool 数据库连接池
+     * @param tableList 已按顺序排列的表信息列表
+     * @param consumer 表信息的处理方法
+     * @return 全部表都读取成功时返回true
+     */
+    private static boolean readTableDetailsParallel(ConnectionPool pool, List<TableInfo> tableList, Consumer<TableInfo> consumer) {
+        int parallelism = Math.min(Constants.DB_INTROSPECT_PARALLELISM, tableList.size());
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        boolean success = true;
+        try {
+            // 按表顺序排列的读取任务，consumer处理较慢时不再提交新的任务
+            Deque<Future<Boolean>> futureQueue = new ArrayDeque<>();
+            int submitIndex = 0;
+            for (int i = 0; i < tableList.size(); i++) {
+                while (submitIndex < tableList.size() && futureQueue.size() < parallelism * 2) {
+                    TableInfo tableInfo = tableList.get(submitIndex++);
+                    futureQueue.add(executor.submit(() -> readTableDetails(pool, tableInfo)));
+                }
+                success &= futureQueue.poll().get();
+                emitTable(tableList, i, consumer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("并行读取表信息被中断", e);
+            return false;
+        } catch (ExecutionException e) {
+            logger.error("并行读取表信息失败", e.getCause());
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+        return success;
+    }
+
+    /**
+     * 将读取完成的表交给consumer，并从列表中移除引用，使处理完的表可被回收
+     * @param tableList 表信息列表
+     * @param index 表在列表中的位置
+     * @param consumer 表信息的处理方法
+     */
+    private static void emitTable(List<TableInfo> tableList, int index, Consumer<TableInfo> consumer) {
+        TableInfo tableInfo = tableList.set(index, null);
+        if (logger.isDebugEnabled()) {
+            logger.debug("表{}", JsonUtils.toJson(tableInfo));
+        }
+        consumer.accept(tableInfo);
+    }
+
+    /**
+     * 从连接池获取一个连接，读取单个表的字段和索引信息
+     * @param pool 数据库连接池
+     * @param tableInfo 表信息对象
+     * @return 字段和索引都读取成功时返回true，失败时不写入快照
+     */
+    private static boolean readTableDetails(ConnectionPool pool, TableInfo tableInfo) {
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            long start = System.nanoTime();
+            if (!readFieldInfo(conn, tableInfo)) {
+                return false;
+            }
+            long fieldEnd = System.nanoTime();
+            BuildReport.recordTable(tableInfo.getTableName(), "fields", fieldEnd - start);
+            if (!getIndexInfos(conn, tableInfo)) {
+                return false;
+            }
+            BuildReport.recordTable(tableInfo.getTableName(), "indexes", System.nanoTime() - fieldEnd);
+            return true;
+        } catch (SQLException e) {
+            logger.error("获取数据库连接失败", e);
+            return false;
+        } finally {
+            pool.release(conn);
+        }
+    }
+
+    /**
+     * 批量获取数据库中所有表的信息
+     * 通过information_schema的TABLES、COLUMNS、STATISTICS三条查询读取整个库，
+     * 在内存中组装TableInfo、FieldInfo和keyIndexMap，结果与逐表查询一致，任一查询失败时不返回不完整的表信息
+     * @param conn 数据库连接
+     * @return 按表名排序的表信息列表，查询失败时返回null
+     */
+    private static List<TableInfo> getTablesBulk(Connection conn) {
+        List<TableInfo> tableList = new ArrayList<>();
+        // 表名到表信息的映射，用于把字段和索引行归属到对应的表
+        Map<String, TableInfo> tableMap = new HashMap<>();
+        try {
+            // 读取所有表
+            long start = System.nanoTime();
+            try (PreparedStatement ps = prepareFiltered(conn, SQL_SELECT_TABLES, "table_name", " and ");
+                 ResultSet tableResult = ps.executeQuery()) {
+                while (tableResult.next()) {
+                    // 表名不合法的表与逐表查询一样跳过
+                    if (!TableFilter.accept(tableResult.getString("table_name")) || !checkTableName(tableResult.getString("table_name"))) {
+                        continue;
+                    }
+                    TableInfo tableInfo = buildTableInfo(tableResult.getString("table_name"), tableResult.getString("table_comment"));
+                    tableList.add(tableInfo);
+                    tableInfo.setFieldList(new ArrayList<>());
+                    tableInfo.setFieldExtendList(new ArrayList<>());
+                    tableMap.put(tableInfo.getTableName(), tableInfo);
+                }
+            }
+
+            BuildReport.recordPhase("tableStatus", System.nanoTime() - start);
+
+            // 读取所有字段，按表名和字段顺序排列
+            start = System.nanoTime();
+            try (PreparedStatement ps = prepareFiltered(conn, SQL_SELECT_COLUMNS, "table_name", " and ");
+                 ResultSet fieldResult = ps.executeQuery()) {
+                while (fieldResult.next()) {
+                    TableInfo tableInfo = tableMap.get(fieldResult.getString("table_name"));
+                    if (tableInfo == null) {
+                        continue;
+                    }
+                    addFieldInfo(tableInfo, fieldResult.getString("column_name"), fieldResult.getString("column_comment"),
+                            fieldResult.getString("column_type"), fieldResult.getString("extra"), "YES".equalsIgnoreCase(fieldResult.getString("is_nullable")));
+                }
+            }
+
+            BuildReport.recordPhase("fields", System.nanoTime() - start);
+
+            // 读取所有索引，字段映射按表懒加载
+            start = System.nanoTime();
+            Map<String, Map<String, FieldInfo>> tableFieldMap = new HashMap<>();
+            try (PreparedStatement ps = prepareFiltered(conn, SQL_SELECT_INDEXES, "table_name", " and ");
+                 ResultSet indexResult = ps.executeQuery()) {
+                while (indexResult.next()) {
+                    TableInfo tableInfo = tableMap.get(indexResult.getString("table_name"));
+                    if (tableInfo == null) {
+                        continue;
+                    }
+                    Map<String, FieldInfo> tempMap = tableFieldMap.computeIfAbsent(tableInfo.getTableName(), k -> getFieldMap(tableInfo));
+                    addIndex(tableInfo, tempMap, indexResult.getString("index_name"), indexResult.getInt("non_unique"),
+                            indexResult.getString("column_name"), indexResult.getString("index_type"));
+                }
+            }
+            tableMap.values().forEach(BuildTable::sortIndexes);
+            BuildReport.recordPhase("indexes", System.nanoTime() - start);
+        } catch (SQLException e) {
+            logger.error("批量查询表信息失败", e);
+            return null;
+        }
         return tableList;
     }
 
+    /**
+     * 创建加入表过滤条件的预编译语句
+     * @param conn 数据库连接
+     * @param sql 含%s占位符的SQL语句
+     * @param column 表名所在的列
+     * @param keyword 过滤条件前的关键字，如where或and
+     * @return 已设置过滤参数的预编译语句
+     * @throws SQLException 创建语句失败
+     */
+    private static PreparedStatement prepareFiltered(Connection conn, String sql, String column, String keyword) throws SQLException {
+        String condition = TableFilter.getSqlCondition(column);
+        PreparedStatement ps = conn.prepareStatement(String.format(sql, condition.isEmpty() ? "" : keyword + condition));
+        try {
+            TableFilter.setParameters(ps, 1);
+        } catch (SQLException e) {
+            ps.close();
+            throw e;
+        }
+        return ps;
+    }
+
+    /**
+     * 根据表名和注释创建表信息对象
+     * @param tableName 表名
+     * @param comment 表注释
+     * @return 设置了bean名称和参数名称的表信息对象
+     */
+    static TableInfo buildTableInfo(String tableName, String comment) {
+    // 处理bean名称，如果需要忽略表前缀
+        String beanName = tableName;
+        if (Constants.IGNORE_TABLE_PREFIX) {
+            beanName = tableName.substring(tableName.indexOf("_") + 1);
+        }
+    // 处理字段名称
+        beanName = processField(tableName, true);
+
+    // 创建表信息对象并设置基本信息
+        TableInfo tableInfo = new TableInfo();
+        tableInfo.setTableName(tableName);
+        tableInfo.setBeanName(beanName);
+        tableInfo.setComment(comment);
+    // 设置bean参数名称，添加后缀
+        tableInfo.setBeanParamName(beanName + Constants.SUFFIX_BEAN_QUERY);
+        return tableInfo;
+    }
+
 /**
  * 读取数据库表字段信息
  * @param tableInfo 表信息对象，包含表名等信息
  */
     public static void readFieldInfo(TableInfo tableInfo) {
         // 检查数据库连接是否存在，若不存在则直接返回
-        if (conn == null) {
+        ConnectionPool pool = getPool();
+        if (pool == null) {
             logger.warn("数据库连接未建立，无法获取表信息");
             return;
         }
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            readFieldInfo(conn, tableInfo);
+        } catch (SQLException e) {
+            logger.error("获取数据库连接失败", e);
+        } finally {
+            pool.release(conn);
+        }
+    }
 
+/**
+ * 使用指定连接读取数据库表字段信息
+ * @param conn 数据库连接
+ * @param tableInfo 表信息对象，包含表名等信息
+ * @return 读取成功时返回true
+ */
+    private static boolean readFieldInfo(Connection conn, TableInfo tableInfo) {
         // 首先检查表名是否合法，防止SQL注入攻击
         if (!isValidTableName(tableInfo.getTableName())) {
             logger.error("表名不合法: {}", tableInfo.getTableName());
-            return;
+            return false;
         }
 
         // 初始化字段列表和扩展字段列表
@@ -161,90 +616,122 @@ public class BuildTable {
         try (PreparedStatement ps = conn.prepareStatement(String.format(SQL_SHOW_TABLE_FIELD, tableInfo.getTableName()));
              ResultSet fieldResult = ps.executeQuery()) {
 
+            tableInfo.setFieldList(fieldList);
+            tableInfo.setFieldExtendList(fieldExtendList);
             // 遍历结果集，获取字段信息
             while (fieldResult.next()) {
-                FieldInfo fieldInfo = new FieldInfo();
-                
-                // 获取字段名并转换为驼峰命名
-                String fieldName = fieldResult.getString("field");
-                String fieldNameCamel = processField(fieldName, false);
-                fieldInfo.setPropertyName(fieldNameCamel);
-                fieldInfo.setFieldName(fieldName);
-
-                // 获取字段注释
-                String comment = fieldResult.getString("comment");
-                fieldInfo.setComment(comment);
-                
-                // 获取字段类型并映射到Java类型
-                String fieldType = fieldResult.getString("type").toUpperCase();
-                if (fieldType.indexOf("(") > 0){
-                    fieldType = fieldType.substring(0, fieldType.indexOf("("));
-                }
-                fieldInfo.setJavaType(getJavaType(fieldType));
-                fieldInfo.setSqlType(fieldType);
-                
-                // 获取是否自增
-                String extra = fieldResult.getString("extra");
-                fieldInfo.setIsAutoIncrement("auto_increment".equalsIgnoreCase(extra));
-
-                // 获取是否包含日期时间
-                if (tableInfo.getHaveDateTime() == null || BooleanUtils.compare(tableInfo.getHaveDateTime(), Boolean.FALSE)) tableInfo.setHaveDateTime(ArrayUtils.contains(Constants.DATE_TIME_TYPES, fieldType));
-                // 获取是否包含日期
-                if (tableInfo.getHaveDate() == null || BooleanUtils.compare(tableInfo.getHaveDate(), Boolean.FALSE)) tableInfo.setHaveDate(ArrayUtils.contains(Constants.DATE_TYPES, fieldType));
-                // 获取是否包含BigDecimal
-                if (tableInfo.getHaveBigDecimal() == null || BooleanUtils.compare(tableInfo.getHaveBigDecimal(), Boolean.FALSE)) tableInfo.setHaveBigDecimal(ArrayUtils.contains(Constants.DECIMAL_TYPES, fieldType) ||
-                        ArrayUtils.contains(Constants.FLOAT_TYPES, fieldType.toUpperCase()));
-
-                fieldList.add(fieldInfo);
-
-                if (ArrayUtils.contains(Constants.STRING_TYPES, fieldType)){
-                    FieldInfo fuzzyField = new FieldInfo();
-                    fuzzyField.setPropertyName(fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_FUZZY);
-                    fuzzyField.setJavaType(fieldInfo.getJavaType());
-                    fuzzyField.setFieldName(fieldInfo.getFieldName());
-                    fuzzyField.setSqlType(fieldInfo.getSqlType());
-                    fieldExtendList.add(fuzzyField);
-                }
-
-                if (ArrayUtils.contains(Constants.DATE_TIME_TYPES, fieldType) || ArrayUtils.contains(Constants.DATE_TYPES, fieldType)){
-                    FieldInfo startTimeFieldInfo = new FieldInfo();
-                    startTimeFieldInfo.setPropertyName(fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_TIME_START);
-                    startTimeFieldInfo.setJavaType("String");
-                    startTimeFieldInfo.setFieldName(fieldInfo.getFieldName());
-                    startTimeFieldInfo.setSqlType(fieldInfo.getSqlType());
-                    fieldExtendList.add(startTimeFieldInfo);
-
-                    FieldInfo endTimeFieldInfo = new FieldInfo();
-                    endTimeFieldInfo.setPropertyName(fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_TIME_END);
-                    endTimeFieldInfo.setJavaType("String");
-                    endTimeFieldInfo.setFieldName(fieldInfo.getFieldName());
-                    endTimeFieldInfo.setSqlType(fieldInfo.getSqlType());
-                    fieldExtendList.add(endTimeFieldInfo);
-                }
+                addFieldInfo(tableInfo, fieldResult.getString("field"), fieldResult.getString("comment"),
+                        fieldResult.getString("type"), fieldResult.getString("extra"), "YES".equalsIgnoreCase(fieldResult.getString("null")));
             }
-
-            tableInfo.setFieldList(fieldList);
-            tableInfo.setFieldExtendList(fieldExtendList);
         } catch (SQLException e) {
             logger.error("查询表 {} 的字段信息失败", tableInfo.getTableName(), e);
+            return false;
         }
+        return true;
     }
 
+    /**
+     * 根据一行字段元数据创建字段信息，并追加到表的字段列表和扩展字段列表中
+     * @param tableInfo 表信息对象，字段列表和扩展字段列表需已初始化
+     * @param fieldName 字段名
+     * @param comment 字段注释
+     * @param type 字段类型，如varchar(32)
+     * @param extra 字段附加信息，如auto_increment
+     * @param nullable 字段是否允许为NULL
+     */
+    static void addFieldInfo(TableInfo tableInfo, String fieldName, String comment, String type, String extra, boolean nullable) {
+        List<FieldInfo> fieldList = tableInfo.getFieldList();
+        List<FieldInfo> fieldExtendList = tableInfo.getFieldExtendList();
+        FieldInfo fieldInfo = new FieldInfo();
+
+        // 获取字段名并转换为驼峰命名
+        String fieldNameCamel = processField(fieldName, false);
+        fieldInfo.setPropertyName(fieldNameCamel);
+        fieldInfo.setFieldName(fieldName);
+
+        // 获取字段注释
+        fieldInfo.setComment(comment);
+
+        // 获取字段类型并映射到Java类型
+        String fieldType = type.toUpperCase();
+        if (fieldType.indexOf("(") > 0){
+            fieldType = fieldType.substring(0, fieldType.indexOf("("));
+        }
+        fieldInfo.setJavaType(getJavaType(fieldType));
+        fieldInfo.setSqlType(fieldType);
+
+        // 获取是否自增
+        fieldInfo.setIsAutoIncrement("auto_increment".equalsIgnoreCase(extra));
+        fieldInfo.setIsNullable(nullable);
+
+        // 获取是否包含日期时间
+        if (tableInfo.getHaveDateTime() == null || BooleanUtils.compare(tableInfo.getHaveDateTime(), Boolean.FALSE)) tableInfo.setHaveDateTime(ArrayUtils.contains(Constants.DATE_TIME_TYPES, fieldType));
+        // 获取是否包含日期
+        if (tableInfo.getHaveDate() == null || BooleanUtils.compare(tableInfo.getHaveDate(), Boolean.FALSE)) tableInfo.setHaveDate(ArrayUtils.contains(Constants.DATE_TYPES, fieldType));
+        // 获取是否包含BigDecimal
+        if (tableInfo.getHaveBigDecimal() == null || BooleanUtils.compare(tableInfo.getHaveBigDecimal(), Boolean.FALSE)) tableInfo.setHaveBigDecimal(ArrayUtils.contains(Constants.DECIMAL_TYPES, fieldType) ||
+                ArrayUtils.contains(Constants.FLOAT_TYPES, fieldType.toUpperCase()));
+
+        fieldList.add(fieldInfo);
+
+        if (ArrayUtils.contains(Constants.STRING_TYPES, fieldType)){
+            FieldInfo fuzzyField = new FieldInfo();
+            fuzzyField.setPropertyName(fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_FUZZY);
+            fuzzyField.setJavaType(fieldInfo.getJavaType());
+            fuzzyField.setFieldName(fieldInfo.getFieldName());
+            fuzzyField.setSqlType(fieldInfo.getSqlType());
+            fieldExtendList.add(fuzzyField);
+        }
+
+        if (ArrayUtils.contains(Constants.DATE_TIME_TYPES, fieldType) || ArrayUtils.contains(Constants.DATE_TYPES, fieldType)){
+            FieldInfo startTimeFieldInfo = new FieldInfo();
+            startTimeFieldInfo.setPropertyName(fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_TIME_START);
+            startTimeFieldInfo.setJavaType("String");
+            startTimeFieldInfo.setFieldName(fieldInfo.getFieldName());
+            startTimeFieldInfo.setSqlType(fieldInfo.getSqlType());
+            fieldExtendList.add(startTimeFieldInfo);
+
+            FieldInfo endTimeFieldInfo = new FieldInfo();
+            endTimeFieldInfo.setPropertyName(fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_TIME_END);
+            endTimeFieldInfo.setJavaType("String");
+            endTimeFieldInfo.setFieldName(fieldInfo.getFieldName());
+            endTimeFieldInfo.setSqlType(fieldInfo.getSqlType());
+            fieldExtendList.add(endTimeFieldInfo);
+        }
+    }
 /**
  * 获取指定表的索引信息
  * @param tableInfo 包含表名和表结构信息的对象
  */
     public static void getIndexInfos(TableInfo tableInfo) {
         // 检查数据库连接是否存在
-        if (conn == null) {
+        ConnectionPool pool = getPool();
+        if (pool == null) {
             logger.warn("数据库连接未建立，无法获取表信息");
             return;
         }
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            getIndexInfos(conn, tableInfo);
+        } catch (SQLException e) {
+            logger.error("获取数据库连接失败", e);
+        } finally {
+            pool.release(conn);
+        }
+    }
 
+/**
+ * 使用指定连接获取表的索引信息
+ * @param conn 数据库连接
+ * @param tableInfo 包含表名和表结构信息的对象
+ * @return 读取成功时返回true
+ */
+    private static boolean getIndexInfos(Connection conn, TableInfo tableInfo) {
         // 首先检查表名是否合法，防止SQL注入
         if (!isValidTableName(tableInfo.getTableName())) {
             logger.error("表名不合法: {}", tableInfo.getTableName());
-            return;
+            return false;
         }
 
         // 用于存储索引信息的列表
@@ -253,36 +740,104 @@ public class BuildTable {
         try (PreparedStatement ps = conn.prepareStatement(String.format(SQL_SHOW_TABLE_INDEX, tableInfo.getTableName()));
              ResultSet indexResult = ps.executeQuery()) {
 
-            Map<String, FieldInfo> tempMap = new HashMap<>();
-            // 遍历表字段列表，找到匹配的字段并添加到索引字段列表中
-            for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
-                tempMap.put(fieldInfo.getFieldName(), fieldInfo);
-            }
+            Map<String, FieldInfo> tempMap = getFieldMap(tableInfo);
             // 遍历结果集，获取索引信息
             while (indexResult.next()) {
-                // 获取索引名
-                String keyName = indexResult.getString("key_name");
-                // 获取索引是否唯一标识(0表示唯一索引，1表示非唯一索引)
-                Integer nonUnique = indexResult.getInt("non_unique");
-                // 获取索引对应的列名
-                String columnName = indexResult.getString("column_name");
-                // 如果是非唯一索引则跳过
-                if (nonUnique == 1) {
-                    continue;
-                }
-                // 获取当前索引名对应的字段列表
-                List<FieldInfo> keyFieldList = tableInfo.getKeyIndexMap().get(keyName);
-                // 如果列表不存在，则创建新列表
-                if (keyFieldList == null) {
-                    keyFieldList = new ArrayList<>();
-                    tableInfo.getKeyIndexMap().put(keyName, keyFieldList);
-                }
-                keyFieldList.add(tempMap.get(columnName));
+                addIndex(tableInfo, tempMap, indexResult.getString("key_name"), indexResult.getInt("non_unique"),
+                        indexResult.getString("column_name"), indexResult.getString("index_type"));
             }
+            sortIndexes(tableInfo);
         } catch (SQLException e) {
             // 记录错误日志
-            logger.error("查询表 {} 的字段信息失败", tableInfo.getTableName(), e);
+            logger.error("查询表 {} 的索引信息失败", tableInfo.getTableName(), e);
+            return false;
+        }
+        return true;
+    }
+
+/**
+     * 构建字段名到字段信息的映射，用于根据索引列名查找字段
+     * @param tableInfo 表信息对象
+     * @return 字段名到字段信息的映射
+     */
+    static Map<String, FieldInfo> getFieldMap(TableInfo tableInfo) {
+        Map<String, FieldInfo> tempMap = new HashMap<>();
+        // 遍历表字段列表，找到匹配的字段并添加到索引字段列表中
+        for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
+            tempMap.put(fieldInfo.getFieldName(), fieldInfo);
+        }
+        return tempMap;
+    }
+
+    /**
+     * 根据一行索引元数据，将字段追加到表的indexList中，唯一索引的字段同时追加到keyIndexMap中
+     * 同一索引的各行需按在索引中的顺序传入
+     * @param tableInfo 表信息对象
+     * @param tempMap 字段名到字段信息的映射
+     * @param keyName 索引名
+     * @param nonUnique 是否非唯一索引(0表示唯一索引，1表示非唯一索引)
+     * @param columnName 索引对应的列名
+     * @param indexType 索引类型，如BTREE、FULLTEXT，为null时按BTREE处理
+     */
+    static void addIndex(TableInfo tableInfo, Map<String, FieldInfo> tempMap, String keyName, Integer nonUnique, String columnName, String indexType) {
+        IndexInfo indexInfo = null;
+        for (IndexInfo existIndexInfo : tableInfo.getIndexList()) {
+            if (existIndexInfo.getIndexName().equals(keyName)) {
+                indexInfo = existIndexInfo;
+                break;
+            }
+        }
+        if (indexInfo == null) {
+            indexInfo = new IndexInfo();
+            indexInfo.setIndexName(keyName);
+            indexInfo.setIsUnique(nonUnique == 0);
+            indexInfo.setIndexType(indexType == null ? "BTREE" : indexType.toUpperCase(Locale.ROOT));
+            tableInfo.getIndexList().add(indexInfo);
+        }
+        indexInfo.getFieldList().add(tempMap.get(columnName));
+        // 如果是非唯一索引则不作为键
+        if (nonUnique == 1) {
+            return;
+        }
+        // 获取当前索引名对应的字段列表
+        List<FieldInfo> keyFieldList = tableInfo.getKeyIndexMap().get(keyName);
+        // 如果列表不存在，则创建新列表
+        if (keyFieldList == null) {
+            keyFieldList = new ArrayList<>();
+            tableInfo.getKeyIndexMap().put(keyName, keyFieldList);
+        }
+        keyFieldList.add(tempMap.get(columnName));
+    }
+
+/**
+     * 按主键在前、其余索引按索引名的顺序重排indexList和keyIndexMap
+     * show index按服务端内部的索引顺序返回，STATISTICS不保证顺序，统一排序后批量和逐表查询得到的键顺序一致
+     * @param tableInfo 索引已读取完成的表信息对象
+     */
+    private static void sortIndexes(TableInfo tableInfo) {
+        tableInfo.getIndexList().sort(Comparator.comparing((IndexInfo indexInfo) -> !"PRIMARY".equals(indexInfo.getIndexName()))
+                .thenComparing(IndexInfo::getIndexName));
+        Map<String, List<FieldInfo>> keyIndexMap = new LinkedHashMap<>();
+        for (IndexInfo indexInfo : tableInfo.getIndexList()) {
+            List<FieldInfo> keyFieldList = tableInfo.getKeyIndexMap().get(indexInfo.getIndexName());
+            if (keyFieldList != null) {
+                keyIndexMap.put(indexInfo.getIndexName(), keyFieldList);
+            }
+        }
+        tableInfo.setKeyIndexMap(keyIndexMap);
+    }
+
+/**
+     * 读取表列表时检查表名，不合法的表只记录警告并跳过，不影响其他表的生成和快照的写入
+     * @param tableName 表名
+     * @return 表名合法时返回true
+     */
+    private static boolean checkTableName(String tableName) {
+        if (isValidTableName(tableName)) {
+            return true;
         }
+        logger.warn("表名 {} 不合法，跳过该表", tableName);
+        return false;
     }
 
 /**
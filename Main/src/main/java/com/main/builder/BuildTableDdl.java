@@ -0,0 +1,624 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import com.main.bean.FieldInfo;
+import com.main.bean.TableInfo;
+import com.main.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * BuildTableDdl类用于从CREATE TABLE建表语句中读取表信息，不需要连接数据库
+ * 支持mysqldump --no-data导出的脚本，解析字段类型、注释、auto_increment以及PRIMARY/UNIQUE/KEY/FULLTEXT/SPATIAL索引，
+ * 生成的TableInfo、FieldInfo、keyIndexMap和indexList与从数据库读取的结果一致
+ */
+public class BuildTableDdl {
+    private static final Logger logger = LoggerFactory.getLogger(BuildTableDdl.class);
+
+    // 紧跟在字段类型后面、属于字段类型的修饰词
+    private static final String[] TYPE_MODIFIERS = {"UNSIGNED", "ZEROFILL"};
+
+    /**
+     * 读取配置的DDL文件或目录中的所有建表语句，按脚本中的顺序逐张交给consumer
+     * 配置为目录时按文件名顺序读取其中的.sql文件
+     * @param consumer 表信息的处理方法
+     */
+    public static void getTables(Consumer<TableInfo> consumer) {
+        File[] files = listFiles();
+        if (files == null) {
+            logger.error("DDL文件不存在: {}", new File(Constants.DDL_PATH).getAbsolutePath());
+            return;
+        }
+        for (File file : files) {
+            try {
+                parse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), consumer);
+            } catch (IOException e) {
+                logger.error("读取DDL文件{}失败", file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * 计算每个DDL文件的指纹，供监听方式判断DDL文件是否发生变化
+     * @return 文件路径到修改时间和大小的映射，DDL文件不存在时返回null
+     */
+    static Map<String, String> getFileFingerprints() {
+        File[] files = listFiles();
+        if (files == null) {
+            return null;
+        }
+        Map<String, String> fingerprintMap = new LinkedHashMap<>();
+        for (File file : files) {
+            fingerprintMap.put(file.getPath(), file.lastModified() + "|" + file.length());
+        }
+        return fingerprintMap;
+    }
+
+    /**
+     * 获取配置的DDL文件，配置为目录时返回其中按文件名排序的.sql文件
+     * @return DDL文件数组，路径不存在时返回null
+     */
+    private static File[] listFiles() {
+        File path = new File(Constants.DDL_PATH);
+        if (!path.exists()) {
+            return null;
+        }
+        File[] files = path.isDirectory() ? path.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".sql")) : new File[]{path};
+        if (files != null) {
+            Arrays.sort(files);
+        }
+        return files;
+    }
+
+    /**
+     * 解析DDL脚本中的所有建表语句
+     * @param ddl DDL脚本
+     * @return 表信息列表
+     */
+    public static List<TableInfo> parse(String ddl) {
+        List<TableInfo> tableList = new ArrayList<>();
+        parse(ddl, tableList::add);
+        return tableList;
+    }
+
+    /**
+     * 解析DDL脚本中的所有建表语句，按脚本中的顺序逐张交给consumer
+     * 非建表语句和被过滤的表直接跳过
+     * @param ddl DDL脚本
+     * @param consumer 表信息的处理方法
+     */
+    public static void parse(String ddl, Consumer<TableInfo> consumer) {
+        for (String statement : splitStatements(ddl)) {
+            long start = System.nanoTime();
+            List<Token> tokenList = tokenize(statement);
+            if (tokenList.size() < 2 || !tokenList.get(0).isWord("CREATE")) {
+                continue;
+            }
+            TableInfo tableInfo;
+            try {
+                tableInfo = parseCreateTable(tokenList);
+            } catch (RuntimeException e) {
+                logger.error("解析建表语句失败: {}", statement, e);
+                continue;
+            }
+            if (tableInfo != null) {
+                BuildReport.recordTable(tableInfo.getTableName(), "ddlParse", System.nanoTime() - start);
+            }
+            if (tableInfo == null || !TableFilter.accept(tableInfo.getTableName())) {
+                continue;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("表{}", JsonUtils.toJson(tableInfo));
+            }
+            consumer.accept(tableInfo);
+        }
+    }
+
+    /**
+     * 解析一条CREATE TABLE语句
+     * @param tokenList 语句的词法单元
+     * @return 表信息对象，不是建表语句或为CREATE TABLE ... LIKE/AS等形式时返回null
+     */
+    private static TableInfo parseCreateTable(List<Token> tokenList) {
+        int index = 1;
+        if (tokenList.get(index).isWord("TEMPORARY")) {
+            index++;
+        }
+        if (!tokenList.get(index).isWord("TABLE")) {
+            return null;
+        }
+        index++;
+        if (tokenList.get(index).isWord("IF")) {
+            // IF NOT EXISTS
+            index += 3;
+        }
+        // 表名，可能带有库名前缀
+        String tableName = tokenList.get(index++).text;
+        while (index + 1 < tokenList.size() && tokenList.get(index).isSymbol(".")) {
+            tableName = tokenList.get(index + 1).text;
+            index += 2;
+        }
+        if (index >= tokenList.size() || !tokenList.get(index).isSymbol("(")) {
+            logger.warn("不支持的建表语句，跳过表{}", tableName);
+            return null;
+        }
+
+        // 按顶层逗号拆分字段和索引定义
+        int end = findClosing(tokenList, index);
+        List<List<Token>> itemList = splitItems(tokenList, index + 1, end);
+
+        // 表注释
+        String comment = "";
+        for (int i = end + 1; i < tokenList.size() - 1; i++) {
+            if (tokenList.get(i).isWord("COMMENT")) {
+                int valueIndex = tokenList.get(i + 1).isSymbol("=") ? i + 2 : i + 1;
+                if (valueIndex < tokenList.size()) {
+                    comment = tokenList.get(valueIndex).text;
+                }
+                break;
+            }
+        }
+
+        TableInfo tableInfo = BuildTable.buildTableInfo(tableName, comment);
+        tableInfo.setFieldList(new ArrayList<>());
+        tableInfo.setFieldExtendList(new ArrayList<>());
+        // 主键索引在前，唯一索引和普通索引分别按定义顺序排列，与show index的顺序一致
+        List<String> primaryKeyList = new ArrayList<>();
+        List<String[]> uniqueKeyList = new ArrayList<>();
+        List<String[]> normalKeyList = new ArrayList<>();
+        for (List<Token> item : itemList) {
+            if (!item.isEmpty()) {
+                parseItem(tableInfo, item, primaryKeyList, uniqueKeyList, normalKeyList);
+            }
+        }
+
+        Map<String, FieldInfo> tempMap = BuildTable.getFieldMap(tableInfo);
+        for (String columnName : primaryKeyList) {
+            BuildTable.addIndex(tableInfo, tempMap, "PRIMARY", 0, columnName, "BTREE");
+            // 主键字段总是NOT NULL，与MySQL一致
+            FieldInfo fieldInfo = tempMap.get(columnName);
+            if (fieldInfo != null) {
+                fieldInfo.setIsNullable(false);
+            }
+        }
+        // 未命名的索引使用第一个字段名作为索引名，重名时追加_2、_3，与MySQL一致
+        Set<String> keyNameSet = new HashSet<>();
+        for (String[] uniqueKey : uniqueKeyList) {
+            if (uniqueKey[0] != null) {
+                keyNameSet.add(uniqueKey[0]);
+            }
+        }
+        for (String[] normalKey : normalKeyList) {
+            if (normalKey[0] != null) {
+                keyNameSet.add(normalKey[0]);
+            }
+        }
+        for (String[] uniqueKey : uniqueKeyList) {
+            String keyName = getKeyName(uniqueKey[0], uniqueKey[1], keyNameSet);
+            for (int i = 1; i < uniqueKey.length; i++) {
+                BuildTable.addIndex(tableInfo, tempMap, keyName, 0, uniqueKey[i], "BTREE");
+            }
+        }
+        for (String[] normalKey : normalKeyList) {
+            if (normalKey.length < 3) {
+                continue;
+            }
+            String keyName = getKeyName(normalKey[0], normalKey[2], keyNameSet);
+            for (int i = 2; i < normalKey.length; i++) {
+                BuildTable.addIndex(tableInfo, tempMap, keyName, 1, normalKey[i], normalKey[1]);
+            }
+        }
+        return tableInfo;
+    }
+
+    /**
+     * 获取索引名，未命名的索引使用第一个字段名，重名时追加_2、_3
+     * @param keyName 定义中的索引名，未命名时为null
+     * @param firstColumn 索引的第一个字段名
+     * @param keyNameSet 已使用的索引名，未命名的索引确定名称后加入
+     * @return 索引名
+     */
+    private static String getKeyName(String keyName, String firstColumn, Set<String> keyNameSet) {
+        if (keyName != null) {
+            return keyName;
+        }
+        keyName = firstColumn;
+        for (int i = 2; keyNameSet.contains(keyName); i++) {
+            keyName = firstColumn + "_" + i;
+        }
+        keyNameSet.add(keyName);
+        return keyName;
+    }
+
+    /**
+     * 解析一个字段或索引定义
+     * @param tableInfo 表信息对象
+     * @param item 定义的词法单元
+     * @param primaryKeyList 主键字段列表
+     * @param uniqueKeyList 唯一索引列表，每项第一个元素为索引名（未命名时为null），其余为字段名
+     * @param normalKeyList 普通、全文和空间索引列表，每项第一个元素为索引名（未命名时为null），第二个元素为索引类型，其余为字段名
+     */
+    private static void parseItem(TableInfo tableInfo, List<Token> item, List<String> primaryKeyList, List<String[]> uniqueKeyList,
+                                  List<String[]> normalKeyList) {
+        Token first = item.get(0);
+        int index = 0;
+        String constraintName = null;
+        if (first.isWord("CONSTRAINT")) {
+            index++;
+            if (index < item.size() && !item.get(index).isWord("PRIMARY") && !item.get(index).isWord("UNIQUE")
+                    && !item.get(index).isWord("FOREIGN") && !item.get(index).isWord("CHECK")) {
+                constraintName = item.get(index++).text;
+            }
+            first = item.get(index);
+        }
+        if (first.isWord("PRIMARY")) {
+            primaryKeyList.addAll(parseKeyColumns(item, index));
+            return;
+        }
+        if (first.isWord("UNIQUE")) {
+            index++;
+            if (item.get(index).isWord("KEY") || item.get(index).isWord("INDEX")) {
+                index++;
+            }
+            String keyName = constraintName;
+            if (!item.get(index).isSymbol("(") && !item.get(index).isWord("USING")) {
+                keyName = item.get(index).text;
+            }
+            List<String> columnList = parseKeyColumns(item, index);
+            String[] uniqueKey = new String[columnList.size() + 1];
+            uniqueKey[0] = keyName;
+            for (int i = 0; i < columnList.size(); i++) {
+                uniqueKey[i + 1] = columnList.get(i);
+            }
+            uniqueKeyList.add(uniqueKey);
+            return;
+        }
+        if (first.isWord("KEY") || first.isWord("INDEX") || first.isWord("FULLTEXT") || first.isWord("SPATIAL")) {
+            String indexType = first.isWord("FULLTEXT") || first.isWord("SPATIAL") ? first.text.toUpperCase(Locale.ROOT) : "BTREE";
+            index++;
+            if (!first.isWord("KEY") && !first.isWord("INDEX") && index < item.size()
+                    && (item.get(index).isWord("KEY") || item.get(index).isWord("INDEX"))) {
+                index++;
+            }
+            String keyName = null;
+            if (index < item.size() && !item.get(index).isSymbol("(") && !item.get(index).isWord("USING")) {
+                keyName = item.get(index).text;
+            }
+            for (int i = index; i + 1 < item.size(); i++) {
+                if (item.get(i).isWord("USING") && item.get(i + 1).isWord("HASH")) {
+                    indexType = "HASH";
+                }
+            }
+            List<String> columnList = parseKeyColumns(item, index);
+            String[] normalKey = new String[columnList.size() + 2];
+            normalKey[0] = keyName;
+            normalKey[1] = indexType;
+            for (int i = 0; i < columnList.size(); i++) {
+                normalKey[i + 2] = columnList.get(i);
+            }
+            normalKeyList.add(normalKey);
+            return;
+        }
+        if (first.isWord("FOREIGN") || first.isWord("CHECK")) {
+            // 外键和检查约束不影响生成结果
+            return;
+        }
+        parseColumn(tableInfo, item, primaryKeyList, uniqueKeyList);
+    }
+
+    /**
+     * 解析字段定义
+     * @param tableInfo 表信息对象
+     * @param item 定义的词法单元
+     * @param primaryKeyList 主键字段列表
+     * @param uniqueKeyList 唯一索引列表
+     */
+    private static void parseColumn(TableInfo tableInfo, List<Token> item, List<String> primaryKeyList, List<String[]> uniqueKeyList) {
+        String fieldName = item.get(0).text;
+        // 字段类型与show full fields的Type列格式一致，如varchar(32)、decimal(10,2)、int unsigned
+        StringBuilder type = new StringBuilder(item.get(1).text.toLowerCase(Locale.ROOT));
+        int index = 2;
+        if (index < item.size() && item.get(index).isSymbol("(")) {
+            int end = findClosing(item, index);
+            type.append('(');
+            for (int i = index + 1; i < end; i++) {
+                Token token = item.get(i);
+                type.append(token.type == TokenType.STRING ? "'" + token.text.replace("'", "''") + "'" : token.text);
+            }
+            type.append(')');
+            index = end + 1;
+        }
+        while (index < item.size() && isTypeModifier(item.get(index))) {
+            type.append(' ').append(item.get(index++).text.toLowerCase(Locale.ROOT));
+        }
+
+        String comment = "";
+        String extra = "";
+        boolean nullable = true;
+        int depth = 0;
+        for (int i = index; i < item.size(); i++) {
+            Token token = item.get(i);
+            // 跳过默认值表达式、生成列表达式等括号中的内容
+            if (token.isSymbol("(")) {
+                depth++;
+            } else if (token.isSymbol(")")) {
+                depth--;
+            } else if (depth > 0) {
+                continue;
+            } else if (token.isWord("COMMENT") && i + 1 < item.size()) {
+                comment = item.get(++i).text;
+            } else if (token.isWord("AUTO_INCREMENT")) {
+                extra = "auto_increment";
+            } else if (token.isWord("NOT") && i + 1 < item.size() && item.get(i + 1).isWord("NULL")) {
+                nullable = false;
+                i++;
+            } else if (token.isWord("PRIMARY")) {
+                primaryKeyList.add(fieldName);
+            } else if (token.isWord("UNIQUE")) {
+                uniqueKeyList.add(new String[]{null, fieldName});
+            }
+        }
+        BuildTable.addFieldInfo(tableInfo, fieldName, comment, type.toString(), extra, nullable);
+    }
+
+    /**
+     * 解析索引定义中括号内的字段名，忽略前缀长度、排序方向和函数索引
+     * @param item 定义的词法单元
+     * @param index 开始查找左括号的位置
+     * @return 字段名列表
+     */
+    private static List<String> parseKeyColumns(List<Token> item, int index) {
+        List<String> columnList = new ArrayList<>();
+        while (index < item.size() && !item.get(index).isSymbol("(")) {
+            index++;
+        }
+        if (index >= item.size()) {
+            return columnList;
+        }
+        int end = findClosing(item, index);
+        for (List<Token> part : splitItems(item, index + 1, end)) {
+            if (!part.isEmpty() && !part.get(0).isSymbol("(")) {
+                columnList.add(part.get(0).text);
+            }
+        }
+        return columnList;
+    }
+
+    private static boolean isTypeModifier(Token token) {
+        for (String modifier : TYPE_MODIFIERS) {
+            if (token.isWord(modifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 查找与左括号匹配的右括号
+     * @param tokenList 词法单元列表
+     * @param start 左括号的位置
+     * @return 右括号的位置
+     */
+    private static int findClosing(List<Token> tokenList, int start) {
+        int depth = 0;
+        for (int i = start; i < tokenList.size(); i++) {
+            if (tokenList.get(i).isSymbol("(")) {
+                depth++;
+            } else if (tokenList.get(i).isSymbol(")") && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("括号不匹配");
+    }
+
+    /**
+     * 按顶层逗号拆分[start, end)之间的词法单元
+     * @param tokenList 词法单元列表
+     * @param start 开始位置
+     * @param end 结束位置（不含）
+     * @return 拆分后的词法单元列表
+     */
+    private static List<List<Token>> splitItems(List<Token> tokenList, int start, int end) {
+        List<List<Token>> itemList = new ArrayList<>();
+        List<Token> item = new ArrayList<>();
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            Token token = tokenList.get(i);
+            if (token.isSymbol("(")) {
+                depth++;
+            } else if (token.isSymbol(")")) {
+                depth--;
+            } else if (depth == 0 && token.isSymbol(",")) {
+                itemList.add(item);
+                item = new ArrayList<>();
+                continue;
+            }
+            item.add(token);
+        }
+        itemList.add(item);
+        return itemList;
+    }
+
+    /**
+     * 去掉注释并按语句分隔符拆分脚本，支持DELIMITER命令
+     * @param ddl DDL脚本
+     * @return 语句列表
+     */
+    private static List<String> splitStatements(String ddl) {
+        List<String> statementList = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+        String delimiter = ";";
+        boolean lineStart = true;
+        int length = ddl.length();
+        for (int i = 0; i < length; i++) {
+            char c = ddl.charAt(i);
+            // DELIMITER命令只出现在行首
+            if (lineStart && ddl.regionMatches(true, i, "DELIMITER ", 0, 10) && statement.toString().trim().isEmpty()) {
+                int lineEnd = ddl.indexOf('\n', i);
+                lineEnd = lineEnd < 0 ? length : lineEnd;
+                delimiter = ddl.substring(i + 10, lineEnd).trim();
+                i = lineEnd;
+                continue;
+            }
+            lineStart = c == '\n' || (lineStart && (c == ' ' || c == '\t' || c == '\r'));
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = skipQuoted(ddl, i);
+                statement.append(ddl, i, end);
+                i = end - 1;
+            } else if (c == '#' || (c == '-' && ddl.startsWith("-- ", i)) || (c == '-' && ddl.startsWith("--\n", i))) {
+                int lineEnd = ddl.indexOf('\n', i);
+                i = (lineEnd < 0 ? length : lineEnd) - 1;
+            } else if (c == '/' && ddl.startsWith("/*", i)) {
+                int commentEnd = ddl.indexOf("*/", i + 2);
+                i = (commentEnd < 0 ? length : commentEnd + 2) - 1;
+                statement.append(' ');
+            } else if (ddl.startsWith(delimiter, i)) {
+                statementList.add(statement.toString().trim());
+                statement.setLength(0);
+                i += delimiter.length() - 1;
+            } else {
+                statement.append(c);
+            }
+        }
+        if (!statement.toString().trim().isEmpty()) {
+            statementList.add(statement.toString().trim());
+        }
+        return statementList;
+    }
+
+    /**
+     * 跳过引号包围的内容，支持反斜杠转义和重复引号转义
+     * @param sql SQL文本
+     * @param start 开始引号的位置
+     * @return 结束引号之后的位置
+     */
+    private static int skipQuoted(String sql, int start) {
+        char quote = sql.charAt(start);
+        for (int i = start + 1; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i++;
+            } else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i++;
+                } else {
+                    return i + 1;
+                }
+            }
+        }
+        return sql.length();
+    }
+
+    /**
+     * 将一条语句拆分为词法单元：单词、反引号标识符、字符串和符号
+     * @param statement SQL语句
+     * @return 词法单元列表
+     */
+    private static List<Token> tokenize(String statement) {
+        List<Token> tokenList = new ArrayList<>();
+        int length = statement.length();
+        int i = 0;
+        while (i < length) {
+            char c = statement.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '`' || c == '\'' || c == '"') {
+                int end = skipQuoted(statement, i);
+                String text = unquote(statement.substring(i + 1, Math.max(i + 1, end - 1)), c);
+                tokenList.add(new Token(c == '`' ? TokenType.WORD : TokenType.STRING, text, c == '`'));
+                i = end;
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '$') {
+                int end = i;
+                while (end < length && (Character.isLetterOrDigit(statement.charAt(end)) || statement.charAt(end) == '_'
+                        || statement.charAt(end) == '$')) {
+                    end++;
+                }
+                tokenList.add(new Token(TokenType.WORD, statement.substring(i, end), false));
+                i = end;
+            } else {
+                tokenList.add(new Token(TokenType.SYMBOL, String.valueOf(c), false));
+                i++;
+            }
+        }
+        return tokenList;
+    }
+
+    /**
+     * 去掉引号内容中的转义
+     * @param text 引号内的文本
+     * @param quote 引号字符
+     * @return 转义后的文本
+     */
+    private static String unquote(String text, char quote) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && quote != '`' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                switch (next) {
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    case '0':
+                        result.append('\0');
+                        break;
+                    default:
+                        result.append(next);
+                }
+            } else if (c == quote && i + 1 < text.length() && text.charAt(i + 1) == quote) {
+                result.append(c);
+                i++;
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private enum TokenType {
+        WORD, STRING, SYMBOL
+    }
+
+    /**
+     * 词法单元，反引号标识符按单词处理但不会被识别为关键字
+     */
+    private static class Token {
+        private final TokenType type;
+        private final String text;
+        private final boolean quoted;
+
+        private Token(TokenType type, String text, boolean quoted) {
+            this.type = type;
+            this.text = text;
+            this.quoted = quoted;
+        }
+
+        private boolean isWord(String word) {
+            return type == TokenType.WORD && !quoted && text.equalsIgnoreCase(word);
+        }
+
+        private boolean isSymbol(String symbol) {
+            return type == TokenType.SYMBOL && text.equals(symbol);
+        }
+    }
+}
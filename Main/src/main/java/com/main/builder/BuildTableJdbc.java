@@ -0,0 +1,296 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import com.main.bean.FieldInfo;
+import com.main.bean.TableInfo;
+import com.main.utils.ConnectionPool;
+import com.main.utils.HashUtils;
+import com.main.utils.JsonUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * BuildTableJdbc类通过JDBC的DatabaseMetaData读取表信息，不依赖MySQL的show语句
+ * 可用于MySQL模式的H2内存数据库，在进程内完成读取表结构到生成代码的全过程。
+ * 字段类型按MySQL的类型名称输出，主键固定使用PRIMARY作为索引名，与BuildTable的结果一致
+ */
+public class BuildTableJdbc {
+    private static final Logger logger = LoggerFactory.getLogger(BuildTableJdbc.class);
+
+    // 需要带长度输出的字段类型
+    private static final String[] SIZED_TYPES = {"varchar", "char"};
+
+    /**
+     * 按表名顺序逐张读取表信息
+     * @param consumer 表信息的处理方法
+     */
+    public static void getTables(Consumer<TableInfo> consumer) {
+        ConnectionPool pool = BuildTable.getPool();
+        if (pool == null) {
+            logger.warn("数据库连接未建立，无法获取表信息");
+            return;
+        }
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            DatabaseMetaData metaData = conn.getMetaData();
+            String catalog = conn.getCatalog();
+            String schema = conn.getSchema();
+
+            // 先读取表名和注释，再逐张读取字段和索引
+            long start = System.nanoTime();
+            Map<String, String> tableCommentMap = new LinkedHashMap<>();
+            try (ResultSet tableResult = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                while (tableResult.next()) {
+                    String tableName = tableResult.getString("TABLE_NAME");
+                    if (TableFilter.accept(tableName)) {
+                        String comment = tableResult.getString("REMARKS");
+                        tableCommentMap.put(tableName, comment == null ? "" : comment);
+                    }
+                }
+            }
+            BuildReport.recordPhase("tableStatus", System.nanoTime() - start);
+            for (Map.Entry<String, String> entry : tableCommentMap.entrySet()) {
+                TableInfo tableInfo = BuildTable.buildTableInfo(entry.getKey(), entry.getValue());
+                start = System.nanoTime();
+                readFieldInfo(metaData, catalog, schema, tableInfo);
+                long fieldEnd = System.nanoTime();
+                BuildReport.recordTable(tableInfo.getTableName(), "fields", fieldEnd - start);
+                readKeyIndex(metaData, catalog, schema, tableInfo);
+                BuildReport.recordTable(tableInfo.getTableName(), "indexes", System.nanoTime() - fieldEnd);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("表{}", JsonUtils.toJson(tableInfo));
+                }
+                consumer.accept(tableInfo);
+            }
+        } catch (SQLException e) {
+            logger.error("读取表信息失败", e);
+        } finally {
+            pool.release(conn);
+        }
+    }
+
+    /**
+     * 按表计算表结构指纹，供监听方式判断哪些表发生了变化
+     * 字段通过一次getColumns读取所有表，索引按表读取，只取与生成结果相关的列
+     * @return 表名到指纹的映射，读取失败时返回null
+     */
+    static Map<String, String> getTableFingerprints() {
+        ConnectionPool pool = BuildTable.getPool();
+        if (pool == null) {
+            return null;
+        }
+        Map<String, StringBuilder> fingerprintMap = new LinkedHashMap<>();
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            DatabaseMetaData metaData = conn.getMetaData();
+            String catalog = conn.getCatalog();
+            String schema = conn.getSchema();
+            try (ResultSet tableResult = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                while (tableResult.next()) {
+                    String tableName = tableResult.getString("TABLE_NAME");
+                    if (TableFilter.accept(tableName)) {
+                        fingerprintMap.put(tableName, new StringBuilder(String.valueOf(tableResult.getString("REMARKS"))));
+                    }
+                }
+            }
+            try (ResultSet fieldResult = metaData.getColumns(catalog, schema, "%", "%")) {
+                while (fieldResult.next()) {
+                    StringBuilder fingerprint = fingerprintMap.get(fieldResult.getString("TABLE_NAME"));
+                    if (fingerprint != null) {
+                        fingerprint.append('|').append(fieldResult.getString("COLUMN_NAME"))
+                                .append(',').append(getColumnType(fieldResult))
+                                .append(',').append(fieldResult.getString("REMARKS"))
+                                .append(',').append(fieldResult.getString("IS_AUTOINCREMENT"))
+                                .append(',').append(fieldResult.getString("IS_NULLABLE"));
+                    }
+                }
+            }
+            for (Map.Entry<String, StringBuilder> entry : fingerprintMap.entrySet()) {
+                try (ResultSet indexResult = metaData.getIndexInfo(catalog, schema, entry.getKey(), false, true)) {
+                    while (indexResult.next()) {
+                        entry.getValue().append('|').append(indexResult.getString("INDEX_NAME"))
+                                .append(',').append(indexResult.getString("COLUMN_NAME"))
+                                .append(',').append(indexResult.getBoolean("NON_UNIQUE"))
+                                .append(',').append(indexResult.getShort("TYPE"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("计算表结构指纹失败", e);
+            return null;
+        } finally {
+            pool.release(conn);
+        }
+        Map<String, String> resultMap = new LinkedHashMap<>();
+        fingerprintMap.forEach((tableName, fingerprint) -> resultMap.put(tableName, HashUtils.sha256Hex(fingerprint.toString())));
+        return resultMap;
+    }
+
+    /**
+     * 读取表的字段信息
+     * @param metaData 数据库元数据
+     * @param catalog 数据库目录
+     * @param schema 数据库模式
+     * @param tableInfo 表信息对象
+     * @throws SQLException 读取失败
+     */
+    private static void readFieldInfo(DatabaseMetaData metaData, String catalog, String schema, TableInfo tableInfo) throws SQLException {
+        tableInfo.setFieldList(new ArrayList<>());
+        tableInfo.setFieldExtendList(new ArrayList<>());
+        try (ResultSet fieldResult = metaData.getColumns(catalog, schema, tableInfo.getTableName(), "%")) {
+            while (fieldResult.next()) {
+                String comment = fieldResult.getString("REMARKS");
+                String extra = "YES".equals(fieldResult.getString("IS_AUTOINCREMENT")) ? "auto_increment" : "";
+                BuildTable.addFieldInfo(tableInfo, fieldResult.getString("COLUMN_NAME"), comment == null ? "" : comment,
+                        getColumnType(fieldResult), extra, !"NO".equals(fieldResult.getString("IS_NULLABLE")));
+            }
+        }
+    }
+
+    /**
+     * 读取表的索引，主键在前，唯一索引和普通索引分别按索引名排列
+     * JDBC元数据不区分BTREE和FULLTEXT索引，哈希索引记为HASH，其余索引都记为BTREE
+     * @param metaData 数据库元数据
+     * @param catalog 数据库目录
+     * @param schema 数据库模式
+     * @param tableInfo 表信息对象
+     * @throws SQLException 读取失败
+     */
+    private static void readKeyIndex(DatabaseMetaData metaData, String catalog, String schema, TableInfo tableInfo) throws SQLException {
+        Map<String, FieldInfo> tempMap = BuildTable.getFieldMap(tableInfo);
+        // 主键字段，按在主键中的顺序排列
+        Map<Short, String> primaryKeyMap = new TreeMap<>();
+        try (ResultSet keyResult = metaData.getPrimaryKeys(catalog, schema, tableInfo.getTableName())) {
+            while (keyResult.next()) {
+                primaryKeyMap.put(keyResult.getShort("KEY_SEQ"), keyResult.getString("COLUMN_NAME"));
+            }
+        }
+        List<String> primaryKeyList = new ArrayList<>(primaryKeyMap.values());
+        for (String columnName : primaryKeyList) {
+            BuildTable.addIndex(tableInfo, tempMap, "PRIMARY", 0, columnName, "BTREE");
+        }
+
+        // 结果集按是否唯一、索引类型、索引名和字段顺序排列，唯一索引在前
+        Map<String, List<String>> indexMap = new LinkedHashMap<>();
+        Map<String, Boolean> nonUniqueMap = new LinkedHashMap<>();
+        Map<String, String> indexTypeMap = new LinkedHashMap<>();
+        try (ResultSet indexResult = metaData.getIndexInfo(catalog, schema, tableInfo.getTableName(), false, true)) {
+            while (indexResult.next()) {
+                String indexName = indexResult.getString("INDEX_NAME");
+                String columnName = indexResult.getString("COLUMN_NAME");
+                if (indexName == null || columnName == null || indexResult.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    continue;
+                }
+                indexMap.computeIfAbsent(indexName, k -> new ArrayList<>()).add(columnName);
+                nonUniqueMap.put(indexName, indexResult.getBoolean("NON_UNIQUE"));
+                indexTypeMap.put(indexName, indexResult.getShort("TYPE") == DatabaseMetaData.tableIndexHashed ? "HASH" : "BTREE");
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : indexMap.entrySet()) {
+            boolean nonUnique = nonUniqueMap.get(entry.getKey());
+            // 主键对应的索引已作为PRIMARY添加
+            if ("PRIMARY".equalsIgnoreCase(entry.getKey()) || (!nonUnique && entry.getValue().equals(primaryKeyList))) {
+                continue;
+            }
+            for (String columnName : entry.getValue()) {
+                BuildTable.addIndex(tableInfo, tempMap, entry.getKey(), nonUnique ? 1 : 0, columnName, indexTypeMap.get(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * 将JDBC字段类型转换为show full fields格式的MySQL类型，如varchar(32)
+     * 驱动返回的类型名称已是可识别的类型时直接使用，否则按java.sql.Types转换
+     * @param fieldResult getColumns的结果集
+     * @return 字段类型
+     * @throws SQLException 读取失败
+     */
+    private static String getColumnType(ResultSet fieldResult) throws SQLException {
+        String typeName = fieldResult.getString("TYPE_NAME").toLowerCase(Locale.ROOT);
+        if (!isKnownType(typeName.toUpperCase(Locale.ROOT))) {
+            typeName = getMysqlType(fieldResult.getInt("DATA_TYPE"), typeName);
+        }
+        if (ArrayUtils.contains(SIZED_TYPES, typeName)) {
+            return typeName + "(" + fieldResult.getInt("COLUMN_SIZE") + ")";
+        }
+        if ("decimal".equals(typeName)) {
+            return typeName + "(" + fieldResult.getInt("COLUMN_SIZE") + "," + fieldResult.getInt("DECIMAL_DIGITS") + ")";
+        }
+        return typeName;
+    }
+
+    private static boolean isKnownType(String type) {
+        return ArrayUtils.contains(Constants.INTEGER_TYPES, type) || ArrayUtils.contains(Constants.LONG_TYPES, type)
+                || ArrayUtils.contains(Constants.BYTE_TYPES, type) || ArrayUtils.contains(Constants.SHORT_TYPES, type)
+                || ArrayUtils.contains(Constants.FLOAT_TYPES, type) || ArrayUtils.contains(Constants.DECIMAL_TYPES, type)
+                || ArrayUtils.contains(Constants.BOOLEAN_TYPES, type) || ArrayUtils.contains(Constants.DATE_TYPES, type)
+                || ArrayUtils.contains(Constants.DATE_TIME_TYPES, type) || ArrayUtils.contains(Constants.STRING_TYPES, type);
+    }
+
+    /**
+     * 按java.sql.Types获取对应的MySQL类型名称
+     * @param dataType java.sql.Types中的类型
+     * @param typeName 驱动返回的类型名称，无法转换时使用
+     * @return MySQL类型名称
+     */
+    private static String getMysqlType(int dataType, String typeName) {
+        switch (dataType) {
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+                return "varchar";
+            case Types.CHAR:
+            case Types.NCHAR:
+                return "char";
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return "text";
+            case Types.INTEGER:
+                return "int";
+            case Types.BIGINT:
+                return "bigint";
+            case Types.TINYINT:
+                return "tinyint";
+            case Types.SMALLINT:
+                return "smallint";
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return "decimal";
+            case Types.DOUBLE:
+            case Types.FLOAT:
+                return "double";
+            case Types.REAL:
+                return "float";
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return "bit";
+            case Types.DATE:
+                return "date";
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+                return "time";
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return "datetime";
+            default:
+                return typeName;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * BuildWatcher类以监听方式运行代码生成
+ * 首次生成全部表后进程常驻，数据库连接、已编译的模板和加载的类都保持可用，
+ * 按watch.interval.ms定时计算每张表的轻量指纹，只重新读取并生成指纹变化或新增的表。
+ * mysql和jdbc读取器按表计算指纹，ddl读取器按DDL文件计算指纹，文件变化时重新解析全部文件，
+ * 未变化的表由生成清单跳过；自定义读取器无法计算指纹，只生成一次
+ */
+public class BuildWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(BuildWatcher.class);
+
+    /**
+     * 生成全部表后持续监听表结构变化，直到进程退出
+     */
+    public static void execute() {
+        String introspectorName = BuildTable.getIntrospectorName();
+        // 先计算指纹再生成，生成过程中发生的变化会在下一次检查时发现
+        Map<String, String> lastFingerprintMap = getFingerprints(introspectorName);
+        BuildRunner.execute();
+        BuildReport.write();
+        if (lastFingerprintMap == null) {
+            logger.warn("无法计算表结构指纹，不再监听表结构变化");
+            return;
+        }
+        logger.info("开始监听表结构变化，检查间隔{}毫秒", Constants.WATCH_INTERVAL_MS);
+        boolean failing = false;
+        while (true) {
+            try {
+                Thread.sleep(Constants.WATCH_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.info("停止监听表结构变化");
+                return;
+            }
+            Map<String, String> fingerprintMap = getFingerprints(introspectorName);
+            // 数据库暂时不可用时继续等待，恢复后再比较
+            if (fingerprintMap == null) {
+                if (!failing) {
+                    logger.warn("计算表结构指纹失败，稍后重试");
+                    failing = true;
+                }
+                continue;
+            }
+            failing = false;
+            Set<String> changedSet = getChanged(lastFingerprintMap, fingerprintMap);
+            if (changedSet.isEmpty()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                if ("ddl".equals(introspectorName) || BuildOutput.isArchive()) {
+                    // DDL文件与表没有对应关系，zip需要包含所有表，都重新读取全部表
+                    logger.info("表结构发生变化: {}", changedSet);
+                    BuildRunner.execute();
+                } else {
+                    logger.info("表结构发生变化，重新生成: {}", changedSet);
+                    BuildRunner.execute(changedSet);
+                }
+                lastFingerprintMap = fingerprintMap;
+            } catch (RuntimeException e) {
+                // 生成失败时保留上次的指纹，下一次检查时重试
+                logger.error("重新生成失败", e);
+            }
+            logger.info("重新生成耗时{}毫秒", (System.nanoTime() - start) / 1000000);
+            BuildReport.write();
+        }
+    }
+
+    /**
+     * 按读取器计算表结构指纹
+     * @param introspectorName 读取器名称
+     * @return 表名（ddl读取器为文件路径）到指纹的映射，无法计算时返回null
+     */
+    private static Map<String, String> getFingerprints(String introspectorName) {
+        switch (introspectorName) {
+            case "mysql":
+                return BuildTable.getTableFingerprints();
+            case "jdbc":
+                return BuildTableJdbc.getTableFingerprints();
+            case "ddl":
+                return BuildTableDdl.getFileFingerprints();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 比较两次的指纹，获取新增、删除和指纹变化的表
+     * @param lastFingerprintMap 上次的指纹
+     * @param fingerprintMap 本次的指纹
+     * @return 发生变化的表名，按名称排序
+     */
+    private static Set<String> getChanged(Map<String, String> lastFingerprintMap, Map<String, String> fingerprintMap) {
+        Set<String> changedSet = new TreeSet<>();
+        fingerprintMap.forEach((name, fingerprint) -> {
+            if (!fingerprint.equals(lastFingerprintMap.get(name))) {
+                changedSet.add(name);
+            }
+        });
+        for (String name : lastFingerprintMap.keySet()) {
+            if (!fingerprintMap.containsKey(name)) {
+                changedSet.add(name);
+            }
+        }
+        return changedSet;
+    }
+}
@@ -0,0 +1,190 @@
+package com.main.builder;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.main.bean.Constants;
+import com.main.bean.TableInfo;
+import com.main.utils.HashUtils;
+import com.main.utils.JsonUtils;
+import com.main.utils.PropertiesUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * GenerationManifest类用于记录每张表上次生成代码时的摘要
+ * 摘要由表信息的JSON和影响生成结果的配置项共同计算，
+ * 摘要未变化且生成的文件都存在时，该表无需重新生成
+ */
+public class GenerationManifest {
+    private static final Logger logger = LoggerFactory.getLogger(GenerationManifest.class);
+
+    // 影响生成结果的配置项前缀，数据库连接、快照等配置不参与计算，generate.reproducible决定类注释中的日期和@since
+    private static final String[] CONFIG_KEY_PREFIXES = {"ignore.", "suffix.", "bean.", "path.", "package.", "author.", "template.", "count.", "batch.", "stream.", "search.", "finder.",
+            "generate.reproducible"};
+    // 生成器使用的模板，模板内容参与配置项摘要的计算，修改模板后所有表都会重新生成
+    private static final String[] TEMPLATE_NAMES = {"Po", "Query", "Mapper", "MapperXml", "Service", "ServiceImpl", "Controller"};
+
+    // 影响生成结果的配置项摘要
+    private final String configHash;
+    // 上次生成时每张表的摘要
+    private final Map<String, String> lastTableHashMap;
+    // 本次生成后每张表的摘要，按表名排序保证文件内容稳定
+    private final Map<String, String> tableHashMap = new TreeMap<>();
+    // 本次已处理的表名，包括生成失败和已确认删除的表，保存时不再沿用这些表上次的记录
+    private final Set<String> handledTableNames = new HashSet<>();
+
+    private GenerationManifest(String configHash, Map<String, String> lastTableHashMap) {
+        this.configHash = configHash;
+        this.lastTableHashMap = lastTableHashMap;
+    }
+
+    /**
+     * 加载生成清单，未开启增量生成或清单不存在时返回空清单
+     * @return 生成清单
+     */
+    public static GenerationManifest load() {
+        Map<String, String> lastTableHashMap = new TreeMap<>();
+        File file = new File(Constants.GENERATE_MANIFEST_PATH);
+        if (Constants.GENERATE_INCREMENTAL && file.exists()) {
+            try {
+                JSONObject manifest = JSON.parseObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+                JSONObject tables = manifest.getJSONObject("tables");
+                for (Map.Entry<String, Object> entry : tables.entrySet()) {
+                    lastTableHashMap.put(entry.getKey(), String.valueOf(entry.getValue()));
+                }
+            } catch (Exception e) {
+                logger.warn("读取生成清单失败，全部表重新生成", e);
+                lastTableHashMap.clear();
+            }
+        }
+        return new GenerationManifest(getConfigHash(), lastTableHashMap);
+    }
+
+    /**
+     * 判断表是否无需重新生成
+     * @param tableInfo 表信息对象
+     * @return 摘要与上次一致且生成的文件都存在时返回true，打包输出时zip需要包含所有表，始终返回false
+     */
+    public boolean isUpToDate(TableInfo tableInfo) {
+        if (!Constants.GENERATE_INCREMENTAL || BuildOutput.isArchive()) {
+            return false;
+        }
+        String lastHash = lastTableHashMap.get(tableInfo.getTableName());
+        if (lastHash == null || !lastHash.equals(getTableHash(tableInfo))) {
+            return false;
+        }
+        for (File file : getOutputFiles(tableInfo)) {
+            if (!file.exists()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 记录表本次生成后的摘要
+     * @param tableInfo 表信息对象
+     */
+    public void update(TableInfo tableInfo) {
+        handledTableNames.add(tableInfo.getTableName());
+        tableHashMap.put(tableInfo.getTableName(), getTableHash(tableInfo));
+    }
+
+    /**
+     * 记录表本次生成失败，清单中不保留该表的记录，下次重新生成
+     * @param tableInfo 表信息对象
+     */
+    public void remove(TableInfo tableInfo) {
+        handledTableNames.add(tableInfo.getTableName());
+        tableHashMap.remove(tableInfo.getTableName());
+    }
+
+    /**
+     * 只重新生成部分表时，指定本次重新读取的表，其中未被记录的表视为已删除，保存时不再保留
+     * @param tableNames 本次重新读取的表名
+     */
+    public void retainOthers(Set<String> tableNames) {
+        handledTableNames.addAll(tableNames);
+    }
+
+    /**
+     * 保存生成清单，本次未读取到的表沿用上次的记录，避免读取表结构不完整时其他表全部重新生成
+     */
+    public void save() {
+        if (!Constants.GENERATE_INCREMENTAL) {
+            return;
+        }
+        lastTableHashMap.forEach((tableName, hash) -> {
+            if (!handledTableNames.contains(tableName)) {
+                tableHashMap.putIfAbsent(tableName, hash);
+            }
+        });
+        File file = new File(Constants.GENERATE_MANIFEST_PATH);
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        JSONObject manifest = new JSONObject();
+        manifest.put("tables", tableHashMap);
+        try {
+            Files.write(file.toPath(), JSON.toJSONBytes(manifest));
+        } catch (Exception e) {
+            logger.warn("保存生成清单失败", e);
+        }
+    }
+
+    /**
+     * 计算表的摘要，包含配置项摘要，配置变化时所有表都会重新生成
+     * @param tableInfo 表信息对象
+     * @return 摘要字符串
+     */
+    private String getTableHash(TableInfo tableInfo) {
+        return HashUtils.sha256Hex(configHash + JsonUtils.toJson(tableInfo));
+    }
+
+    /**
+     * 计算影响生成结果的配置项和模板的摘要
+     * @return 摘要字符串
+     */
+    private static String getConfigHash() {
+        Map<String, String> configMap = new TreeMap<>();
+        for (String key : PropertiesUtils.getKeys()) {
+            for (String prefix : CONFIG_KEY_PREFIXES) {
+                if (key.startsWith(prefix)) {
+                    configMap.put(key, PropertiesUtils.getString(key));
+                    break;
+                }
+            }
+        }
+        for (String templateName : TEMPLATE_NAMES) {
+            configMap.put("template:" + templateName, Template.get(templateName).getSource());
+        }
+        return HashUtils.sha256Hex(configMap.toString());
+    }
+
+    /**
+     * 获取一张表生成的全部文件
+     * @param tableInfo 表信息对象
+     * @return 生成的文件数组
+     */
+    private static File[] getOutputFiles(TableInfo tableInfo) {
+        String beanName = tableInfo.getBeanName();
+        return new File[]{
+                new File(Constants.PATH_PO, beanName + ".java"),
+                new File(Constants.PATH_QUERY, beanName + Constants.SUFFIX_BEAN_QUERY + ".java"),
+                new File(Constants.PATH_MAPPER, beanName + Constants.SUFFIX_MAPPER + ".java"),
+                new File(Constants.PATH_MAPPER_XML, beanName + Constants.SUFFIX_MAPPER + ".xml"),
+                new File(Constants.PATH_SERVICE, beanName + Constants.SUFFIX_SERVICE + ".java"),
+                new File(Constants.PATH_SERVICE_IMPL, beanName + Constants.SUFFIX_SERVICE_IMPL + ".java"),
+                new File(Constants.PATH_CONTROLLER, beanName + Constants.SUFFIX_CONTROLLER + ".java")
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.main.builder;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.main.bean.Constants;
+import com.main.bean.FieldInfo;
+import com.main.bean.IndexInfo;
+import com.main.bean.TableInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SchemaSnapshot类用于读写本地表结构快照文件
+ * 快照以JSON格式保存完整的表信息列表（读取表结构时逐张追加写入），并记录生成快照时的库结构指纹，
+ * 指纹一致时直接加载快照，不再逐表读取字段和索引信息
+ */
+public class SchemaSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaSnapshot.class);
+
+    /**
+     * 加载与指纹匹配的表结构快照
+     * @param fingerprint 当前库结构指纹
+     * @return 快照中的表信息列表，快照不存在或指纹不匹配时返回null
+     */
+    public static List<TableInfo> load(String fingerprint) {
+        File file = new File(Constants.SNAPSHOT_PATH);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            JSONObject snapshot = JSON.parseObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            if (!fingerprint.equals(snapshot.getString("fingerprint"))) {
+                logger.info("表结构已变化，快照失效");
+                return null;
+            }
+            JSONArray tableArray = snapshot.getJSONArray("tables");
+            List<TableInfo> tableList = new ArrayList<>(tableArray.size());
+            for (int i = 0; i < tableArray.size(); i++) {
+                TableInfo tableInfo = toTableInfo(tableArray.getJSONObject(i));
+                // 旧版本的快照中没有字段是否可为NULL，需要重新读取
+                for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
+                    if (fieldInfo.getIsNullable() == null) {
+                        logger.info("快照缺少字段信息，快照失效");
+                        return null;
+                    }
+                }
+                tableList.add(tableInfo);
+            }
+            logger.info("表结构未变化，从快照加载{}张表", tableList.size());
+            return tableList;
+        } catch (Exception e) {
+            logger.warn("读取表结构快照失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 打开表结构快照的写入器，表信息逐张追加，不需要整库的表信息同时在内存中
+     * @param fingerprint 当前库结构指纹
+     * @return 快照写入器，打开失败时写入器不做任何操作
+     */
+    public static Writer open(String fingerprint) {
+        return new Writer(fingerprint);
+    }
+
+    /**
+     * 表结构快照写入器
+     * 先写入同目录下的临时文件，调用commit后才替换原快照，读取中途失败不会留下不完整的快照
+     */
+    public static class Writer implements Closeable {
+        private final File file;
+        private final File tempFile;
+        private BufferedWriter bw;
+        private boolean first = true;
+
+        private Writer(String fingerprint) {
+            file = new File(Constants.SNAPSHOT_PATH).getAbsoluteFile();
+            tempFile = new File(file.getPath() + ".tmp");
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                bw = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8);
+                bw.write("{\"fingerprint\":");
+                bw.write(JSON.toJSONString(fingerprint));
+                bw.write(",\"tables\":[");
+            } catch (IOException e) {
+                logger.warn("保存表结构快照失败", e);
+                discard();
+            }
+        }
+
+        /**
+         * 追加一张表
+         * @param tableInfo 表信息对象
+         */
+        public void append(TableInfo tableInfo) {
+            if (bw == null) {
+                return;
+            }
+            try {
+                if (!first) {
+                    bw.write(',');
+                }
+                bw.write(JSON.toJSONString(tableInfo));
+                first = false;
+            } catch (IOException e) {
+                logger.warn("保存表结构快照失败", e);
+                discard();
+            }
+        }
+
+        /**
+         * 完成写入并替换原快照
+         */
+        public void commit() {
+            if (bw == null) {
+                return;
+            }
+            try {
+                bw.write("]}");
+                bw.close();
+                bw = null;
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                logger.warn("保存表结构快照失败", e);
+                discard();
+            }
+        }
+
+        /**
+         * 未提交时丢弃临时文件，原快照保持不变
+         */
+        @Override
+        public void close() {
+            discard();
+        }
+
+        private void discard() {
+            if (bw != null) {
+                try {
+                    bw.close();
+                } catch (IOException e) {
+                    logger.debug("关闭快照临时文件失败", e);
+                }
+                bw = null;
+            }
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * 将快照中的一张表转换为表信息对象
+     * keyIndexMap和indexList按快照中的顺序重建，并指向fieldList中的同一个字段对象，与读库得到的结构一致
+     * @param tableJson 快照中的表JSON对象
+     * @return 表信息对象
+     */
+    private static TableInfo toTableInfo(JSONObject tableJson) {
+        TableInfo tableInfo = tableJson.to(TableInfo.class);
+        Map<String, FieldInfo> fieldMap = new HashMap<>();
+        if (tableInfo.getFieldList() != null) {
+            for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
+                fieldMap.put(fieldInfo.getFieldName(), fieldInfo);
+            }
+        }
+        Map<String, List<FieldInfo>> keyIndexMap = new LinkedHashMap<>();
+        JSONObject keyIndexJson = tableJson.getJSONObject("keyIndexMap");
+        if (keyIndexJson != null) {
+            for (Map.Entry<String, Object> entry : keyIndexJson.entrySet()) {
+                List<FieldInfo> keyFieldList = new ArrayList<>();
+                JSONArray keyFieldArray = (JSONArray) entry.getValue();
+                for (int i = 0; i < keyFieldArray.size(); i++) {
+                    JSONObject keyFieldJson = keyFieldArray.getJSONObject(i);
+                    keyFieldList.add(keyFieldJson == null ? null : fieldMap.get(keyFieldJson.getString("fieldName")));
+                }
+                keyIndexMap.put(entry.getKey(), keyFieldList);
+            }
+        }
+        tableInfo.setKeyIndexMap(keyIndexMap);
+        if (tableInfo.getIndexList() != null) {
+            for (IndexInfo indexInfo : tableInfo.getIndexList()) {
+                List<FieldInfo> indexFieldList = new ArrayList<>();
+                for (FieldInfo fieldInfo : indexInfo.getFieldList()) {
+                    indexFieldList.add(fieldInfo == null ? null : fieldMap.get(fieldInfo.getFieldName()));
+                }
+                indexInfo.setFieldList(indexFieldList);
+            }
+        } else {
+            tableInfo.setIndexList(new ArrayList<>());
+        }
+        return tableInfo;
+    }
+}
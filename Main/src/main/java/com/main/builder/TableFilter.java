@@ -0,0 +1,191 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * TableFilter类根据table.include和table.exclude配置过滤需要生成代码的表
+ * 配置为逗号分隔的匹配规则，默认按通配符匹配（*匹配任意字符，?匹配单个字符，不区分大小写），
+ * 以regex:开头时按Java正则表达式匹配表名。
+ * 通配符规则会转换为like条件加入读取表结构的SQL中，被排除的表不会查询字段和索引；
+ * 正则规则无法与MySQL的正则语法保证一致，只在读取表列表后过滤。
+ * 监听方式下可临时把读取范围限制为表结构变化的表，限制只在读取表列表后生效
+ */
+public class TableFilter {
+    // 正则规则的前缀
+    private static final String REGEX_PREFIX = "regex:";
+
+    // 包含规则，为空时包含所有表
+    private static final List<Rule> INCLUDE_RULES = parseRules(Constants.TABLE_INCLUDE);
+    // 排除规则
+    private static final List<Rule> EXCLUDE_RULES = parseRules(Constants.TABLE_EXCLUDE);
+    // 包含规则全部为通配符时才能转换为SQL条件
+    private static final boolean INCLUDE_PUSH_DOWN = !INCLUDE_RULES.isEmpty() && INCLUDE_RULES.stream().allMatch(rule -> rule.like != null);
+    // 临时限制的表名集合，为null时不限制
+    private static volatile Set<String> restrictSet = null;
+
+    /**
+     * 判断表是否需要生成代码
+     * @param tableName 表名
+     * @return 表名匹配任一包含规则（未配置时视为匹配）且不匹配任何排除规则，并在临时限制的范围内时返回true
+     */
+    public static boolean accept(String tableName) {
+        Set<String> restricted = restrictSet;
+        if (restricted != null && !restricted.contains(tableName)) {
+            return false;
+        }
+        if (!INCLUDE_RULES.isEmpty() && INCLUDE_RULES.stream().noneMatch(rule -> rule.matches(tableName))) {
+            return false;
+        }
+        return EXCLUDE_RULES.stream().noneMatch(rule -> rule.matches(tableName));
+    }
+
+    /**
+     * 临时把读取范围限制为指定的表，用完后需传入null解除限制
+     * @param tableNames 表名集合，为null时解除限制
+     */
+    static void restrictTo(Set<String> tableNames) {
+        restrictSet = tableNames == null ? null : new HashSet<>(tableNames);
+    }
+
+    /**
+     * 读取范围是否被临时限制
+     * @return 已限制时返回true
+     */
+    static boolean isRestricted() {
+        return restrictSet != null;
+    }
+
+    /**
+     * 获取可在SQL中执行的过滤条件，参数通过setParameters设置
+     * @param column 表名所在的列
+     * @return 过滤条件，如(lower(table_name) like ?) and lower(table_name) not like ?，没有可转换的规则时返回空字符串
+     */
+    public static String getSqlCondition(String column) {
+        List<String> conditionList = new ArrayList<>();
+        if (INCLUDE_PUSH_DOWN) {
+            List<String> includeList = new ArrayList<>();
+            for (int i = 0; i < INCLUDE_RULES.size(); i++) {
+                includeList.add("lower(" + column + ") like ?");
+            }
+            conditionList.add("(" + String.join(" or ", includeList) + ")");
+        }
+        for (Rule rule : EXCLUDE_RULES) {
+            if (rule.like != null) {
+                conditionList.add("lower(" + column + ") not like ?");
+            }
+        }
+        return String.join(" and ", conditionList);
+    }
+
+    /**
+     * 设置getSqlCondition返回条件中的参数
+     * @param ps 预编译语句
+     * @param index 第一个参数的位置
+     * @return 下一个参数的位置
+     * @throws SQLException 设置参数失败
+     */
+    public static int setParameters(PreparedStatement ps, int index) throws SQLException {
+        if (INCLUDE_PUSH_DOWN) {
+            for (Rule rule : INCLUDE_RULES) {
+                ps.setString(index++, rule.like);
+            }
+        }
+        for (Rule rule : EXCLUDE_RULES) {
+            if (rule.like != null) {
+                ps.setString(index++, rule.like);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 解析逗号分隔的匹配规则
+     * @param config 配置值
+     * @return 匹配规则列表
+     */
+    private static List<Rule> parseRules(String config) {
+        List<Rule> ruleList = new ArrayList<>();
+        if (config == null) {
+            return ruleList;
+        }
+        for (String item : config.split(",")) {
+            item = item.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            if (item.startsWith(REGEX_PREFIX)) {
+                ruleList.add(new Rule(Pattern.compile(item.substring(REGEX_PREFIX.length())), null));
+            } else {
+                ruleList.add(new Rule(globToPattern(item), globToLike(item)));
+            }
+        }
+        return ruleList;
+    }
+
+    /**
+     * 将通配符转换为不区分大小写的正则表达式
+     * @param glob 通配符
+     * @return 正则表达式
+     */
+    private static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * 将通配符转换为小写的like表达式，转义like中的特殊字符
+     * @param glob 通配符
+     * @return like表达式
+     */
+    private static String globToLike(String glob) {
+        StringBuilder like = new StringBuilder();
+        for (char c : glob.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '*') {
+                like.append('%');
+            } else if (c == '?') {
+                like.append('_');
+            } else {
+                if (c == '%' || c == '_' || c == '\\') {
+                    like.append('\\');
+                }
+                like.append(c);
+            }
+        }
+        return like.toString();
+    }
+
+    /**
+     * 匹配规则，通配符规则同时保存对应的like表达式
+     */
+    private static class Rule {
+        private final Pattern pattern;
+        private final String like;
+
+        private Rule(Pattern pattern, String like) {
+            this.pattern = pattern;
+            this.like = like;
+        }
+
+        private boolean matches(String tableName) {
+            return pattern.matcher(tableName).matches();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.main.builder;
+
+import com.main.bean.TableInfo;
+
+import java.util.function.Consumer;
+
+/**
+ * TableIntrospector接口定义表结构的读取方式
+ * 实现类按顺序逐张读取表信息，并组装与BuildTable一致的TableInfo、FieldInfo和keyIndexMap。
+ * 自定义实现需提供无参构造方法，通过db.introspector配置完整类名启用
+ */
+@FunctionalInterface
+public interface TableIntrospector {
+    /**
+     * 逐张读取表信息，每读完一张表就交给consumer处理
+     * @param consumer 表信息的处理方法
+     */
+    void getTables(Consumer<TableInfo> consumer);
+}
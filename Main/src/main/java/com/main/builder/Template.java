@@ -0,0 +1,452 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Template类是生成器使用的模板引擎，模板为resources/template目录下的.tpl文件，语法为Mustache的子集：
+ * {{name}}输出变量，可用a.b访问下级Map中的值，值为null时不输出；
+ * {{#name}}...{{/name}}在值为列表时对每个元素渲染一次，值为true或其他非空值时渲染一次，
+ * 值为false、null、空字符串或空列表时跳过；{{^name}}...{{/name}}与之相反；
+ * 列表中可用{{#-first}}、{{^-last}}等判断当前元素是否为第一个或最后一个，用于输出分隔符；{{! 注释}}不输出。
+ * 单独占一行的区块标签和注释连同该行的缩进和换行一起去掉，不会在生成的文件中留下空行。
+ * 模板只在第一次使用时解析为节点树并缓存，渲染时按节点顺序向线程内复用的缓冲区追加文本和变量值。
+ * 配置template.path后优先读取该目录下的同名模板，修改生成的内容只需要修改模板
+ */
+public class Template {
+    // 模板文件后缀
+    private static final String SUFFIX = ".tpl";
+    // 渲染缓冲区的初始容量
+    private static final int BUFFER_CAPACITY = 16 * 1024;
+    // 渲染缓冲区超过该容量时不再复用，避免个别大表长期占用内存
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    // 模板名称到编译后模板的缓存
+    private static final Map<String, Template> TEMPLATE_MAP = new ConcurrentHashMap<>();
+    // 每个生成线程复用的渲染缓冲区
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_CAPACITY));
+    // 渲染到writer时从缓冲区复制内容使用的字符数组
+    private static final ThreadLocal<char[]> CHUNK = ThreadLocal.withInitial(() -> new char[8192]);
+
+    private final String name;
+    private final String source;
+    private final Node[] nodes;
+
+    private Template(String name, String source, Node[] nodes) {
+        this.name = name;
+        this.source = source;
+        this.nodes = nodes;
+    }
+
+    /**
+     * 获取模板，第一次获取时读取并编译
+     * @param name 模板名称，不含.tpl后缀
+     * @return 编译后的模板
+     */
+    public static Template get(String name) {
+        return TEMPLATE_MAP.computeIfAbsent(name, Template::load);
+    }
+
+    /**
+     * 编译模板内容
+     * @param name 模板名称，用于错误信息
+     * @param source 模板内容
+     * @return 编译后的模板
+     */
+    public static Template compile(String name, String source) {
+        // 统一换行符，Windows下检出的模板生成的内容与其他系统一致
+        String normalized = source.replace("\r\n", "\n");
+        return new Template(name, normalized, new Parser(name, normalized).parse());
+    }
+
+    /**
+     * 获取模板内容，用于计算生成清单的摘要
+     * @return 模板内容
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 渲染模板
+     * @param scopes 变量作用域，后面的作用域优先
+     * @return 渲染结果
+     */
+    @SafeVarargs
+    public final String render(Map<String, ?>... scopes) {
+        StringBuilder buffer = renderToBuffer(scopes);
+        String result = buffer.toString();
+        releaseBuffer(buffer);
+        return result;
+    }
+
+    /**
+     * 渲染模板到writer中，按块从缓冲区复制，不创建整个文件内容的字符串
+     * @param writer 输出目标
+     * @param scopes 变量作用域，后面的作用域优先
+     * @throws IOException 写入失败
+     */
+    @SafeVarargs
+    public final void render(Writer writer, Map<String, ?>... scopes) throws IOException {
+        StringBuilder buffer = renderToBuffer(scopes);
+        char[] chunk = CHUNK.get();
+        for (int start = 0; start < buffer.length(); start += chunk.length) {
+            int end = Math.min(start + chunk.length, buffer.length());
+            buffer.getChars(start, end, chunk, 0);
+            writer.write(chunk, 0, end - start);
+        }
+        writer.flush();
+        releaseBuffer(buffer);
+    }
+
+    private StringBuilder renderToBuffer(Map<String, ?>[] scopes) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        Context context = new Context();
+        for (Map<String, ?> scope : scopes) {
+            context.push(scope);
+        }
+        render(nodes, context, buffer);
+        return buffer;
+    }
+
+    private static void releaseBuffer(StringBuilder buffer) {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+    }
+
+    private static void render(Node[] nodes, Context context, StringBuilder out) {
+        for (Node node : nodes) {
+            node.render(context, out);
+        }
+    }
+
+    /**
+     * 读取并编译模板，template.path目录下存在同名文件时优先使用
+     * @param name 模板名称
+     * @return 编译后的模板
+     */
+    private static Template load(String name) {
+        String fileName = name + SUFFIX;
+        try {
+            if (!StringUtils.isEmpty(Constants.TEMPLATE_PATH)) {
+                File file = new File(Constants.TEMPLATE_PATH, fileName);
+                if (file.isFile()) {
+                    return compile(name, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+                }
+            }
+            try (InputStream in = Template.class.getClassLoader().getResourceAsStream("template/" + fileName)) {
+                if (in == null) {
+                    throw new RuntimeException("模板" + fileName + "不存在");
+                }
+                return compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("读取模板" + fileName + "失败", e);
+        }
+    }
+
+    /**
+     * 判断值在区块中是否视为真
+     * @param value 变量值
+     * @return false、null、空字符串和空集合为假，其余为真
+     */
+    private static boolean isTruthy(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return false;
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof String) {
+            return !((String) value).isEmpty();
+        }
+        return true;
+    }
+
+    /**
+     * 模板节点
+     */
+    private interface Node {
+        void render(Context context, StringBuilder out);
+    }
+
+    /**
+     * 原样输出的文本
+     */
+    private static class Text implements Node {
+        private final String text;
+
+        private Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(Context context, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    /**
+     * 输出变量值
+     */
+    private static class Variable implements Node {
+        private final String[] path;
+
+        private Variable(String[] path) {
+            this.path = path;
+        }
+
+        @Override
+        public void render(Context context, StringBuilder out) {
+            Object value = context.resolve(path);
+            if (value instanceof String) {
+                out.append((String) value);
+            } else if (value != null) {
+                out.append(value);
+            }
+        }
+    }
+
+    /**
+     * 区块，按变量值跳过、渲染一次或对列表中的每个元素渲染一次
+     */
+    private static class Section implements Node {
+        private final String[] path;
+        private final boolean inverted;
+        private final Node[] children;
+
+        private Section(String[] path, boolean inverted, Node[] children) {
+            this.path = path;
+            this.inverted = inverted;
+            this.children = children;
+        }
+
+        @Override
+        public void render(Context context, StringBuilder out) {
+            Object value = context.resolve(path);
+            if (inverted) {
+                if (!isTruthy(value)) {
+                    Template.render(children, context, out);
+                }
+                return;
+            }
+            if (!isTruthy(value)) {
+                return;
+            }
+            if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                for (int i = 0; i < list.size(); i++) {
+                    context.push(list.get(i));
+                    context.pushLoop(i, list.size());
+                    Template.render(children, context, out);
+                    context.popLoop();
+                    context.pop();
+                }
+            } else if (value instanceof Boolean) {
+                Template.render(children, context, out);
+            } else {
+                context.push(value);
+                Template.render(children, context, out);
+                context.pop();
+            }
+        }
+    }
+
+    /**
+     * 渲染时的作用域栈和列表循环状态
+     */
+    private static class Context {
+        private Object[] scopes = new Object[8];
+        private int depth;
+        private int[] loops = new int[8];
+        private int loopDepth;
+
+        private void push(Object scope) {
+            if (depth == scopes.length) {
+                scopes = Arrays.copyOf(scopes, depth * 2);
+            }
+            scopes[depth++] = scope;
+        }
+
+        private void pop() {
+            scopes[--depth] = null;
+        }
+
+        private void pushLoop(int index, int size) {
+            if (loopDepth + 2 > loops.length) {
+                loops = Arrays.copyOf(loops, loops.length * 2);
+            }
+            loops[loopDepth++] = index;
+            loops[loopDepth++] = size;
+        }
+
+        private void popLoop() {
+            loopDepth -= 2;
+        }
+
+        /**
+         * 从最内层的作用域开始查找变量
+         * @param path 变量路径，长度为0时表示当前元素
+         * @return 变量值，不存在时返回null
+         */
+        private Object resolve(String[] path) {
+            if (path.length == 0) {
+                return depth > 0 ? scopes[depth - 1] : null;
+            }
+            String first = path[0];
+            if (first.charAt(0) == '-') {
+                if (loopDepth == 0) {
+                    return false;
+                }
+                int index = loops[loopDepth - 2];
+                int size = loops[loopDepth - 1];
+                return "-first".equals(first) ? index == 0 : "-last".equals(first) && index == size - 1;
+            }
+            Object value = null;
+            for (int i = depth - 1; i >= 0; i--) {
+                if (scopes[i] instanceof Map) {
+                    Map<?, ?> scope = (Map<?, ?>) scopes[i];
+                    value = scope.get(first);
+                    if (value != null || scope.containsKey(first)) {
+                        break;
+                    }
+                }
+            }
+            for (int i = 1; i < path.length && value != null; i++) {
+                value = value instanceof Map ? ((Map<?, ?>) value).get(path[i]) : null;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 模板解析器，把模板内容解析为节点树
+     */
+    private static class Parser {
+        private final String name;
+        private final String source;
+        private int pos;
+
+        private Parser(String name, String source) {
+            this.name = name;
+            this.source = source;
+        }
+
+        private Node[] parse() {
+            return parse(null, 0);
+        }
+
+        /**
+         * 解析到区块结束标签或模板末尾
+         * @param sectionName 当前区块名称，顶层为null
+         * @param sectionStart 当前区块开始标签的位置，用于错误信息
+         * @return 节点数组
+         */
+        private Node[] parse(String sectionName, int sectionStart) {
+            List<Node> nodeList = new ArrayList<>();
+            int textStart = pos;
+            while (true) {
+                int open = source.indexOf("{{", pos);
+                if (open < 0) {
+                    if (sectionName != null) {
+                        throw error(sectionStart, "区块" + sectionName + "缺少结束标签");
+                    }
+                    addText(nodeList, textStart, source.length());
+                    pos = source.length();
+                    return nodeList.toArray(new Node[0]);
+                }
+                // 连续的{时最后两个才是标签开始，如#{{{name}}}输出#{和name的值
+                while (open + 2 < source.length() && source.charAt(open + 2) == '{') {
+                    open++;
+                }
+                int close = source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw error(open, "标签缺少}}");
+                }
+                String tag = source.substring(open + 2, close).trim();
+                if (tag.isEmpty()) {
+                    throw error(open, "标签为空");
+                }
+                char type = tag.charAt(0);
+                int tagEnd = close + 2;
+                if (type == '#' || type == '^' || type == '/' || type == '!') {
+                    // 单独占一行的标签连同该行的缩进和换行一起去掉
+                    int lineStart = source.lastIndexOf('\n', open - 1) + 1;
+                    int lineEnd = source.indexOf('\n', tagEnd);
+                    if (lineEnd < 0) {
+                        lineEnd = source.length();
+                    }
+                    if (lineStart >= textStart && isBlank(lineStart, open) && isBlank(tagEnd, lineEnd)) {
+                        addText(nodeList, textStart, lineStart);
+                        tagEnd = Math.min(lineEnd + 1, source.length());
+                    } else {
+                        addText(nodeList, textStart, open);
+                    }
+                } else {
+                    addText(nodeList, textStart, open);
+                }
+                pos = tagEnd;
+
+                if (type == '#' || type == '^') {
+                    String childName = tag.substring(1).trim();
+                    Node[] children = parse(childName, open);
+                    nodeList.add(new Section(toPath(childName), type == '^', children));
+                } else if (type == '/') {
+                    String endName = tag.substring(1).trim();
+                    if (!endName.equals(sectionName)) {
+                        throw error(open, "结束标签" + endName + "与区块" + sectionName + "不匹配");
+                    }
+                    return nodeList.toArray(new Node[0]);
+                } else if (type != '!') {
+                    nodeList.add(new Variable(toPath(tag)));
+                }
+                textStart = pos;
+            }
+        }
+
+        private void addText(List<Node> nodeList, int start, int end) {
+            if (end > start) {
+                nodeList.add(new Text(source.substring(start, end)));
+            }
+        }
+
+        private boolean isBlank(int start, int end) {
+            for (int i = start; i < end; i++) {
+                char c = source.charAt(i);
+                if (c != ' ' && c != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String[] toPath(String tag) {
+            return ".".equals(tag) ? new String[0] : tag.split("\\.");
+        }
+
+        private RuntimeException error(int offset, String message) {
+            int line = 1;
+            for (int i = 0; i < offset; i++) {
+                if (source.charAt(i) == '\n') {
+                    line++;
+                }
+            }
+            return new RuntimeException("模板" + name + "第" + line + "行：" + message);
+        }
+    }
+}
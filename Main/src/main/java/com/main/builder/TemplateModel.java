@@ -0,0 +1,502 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import com.main.bean.FieldInfo;
+import com.main.bean.IndexInfo;
+import com.main.bean.TableInfo;
+import com.main.utils.DateUtils;
+import com.main.utils.PropertiesUtils;
+import com.main.utils.StringUtils;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * TemplateModel类负责把配置和表信息转换为模板中可用的变量
+ * 配置变量所有表共用，只创建一次；表变量包含类名、字段列表和索引列表等，
+ * 字段的类型判断在这里完成，模板中只需要按变量输出内容。
+ * 表变量按表信息对象缓存，同一张表的各个生成器共用，表信息对象被回收后缓存随之释放
+ */
+public class TemplateModel {
+    // 需要忽略JSON序列化的属性
+    private static final String[] IGNORE_BEAN_TOJSON_FIELDS = Constants.IGNORE_BEAN_TOJSON_FILED.split(",");
+    // 生成代码中CountStrategy枚举的常量
+    private static final String[] COUNT_STRATEGIES = {"EXACT", "NONE", "ESTIMATE", "FIRST_PAGE"};
+
+    // 配置变量
+    private static final Map<String, Object> CONSTANT_MAP = Collections.unmodifiableMap(createConstantMap());
+    // 表信息对象到表变量的缓存，表变量中不引用表信息对象，不影响其回收
+    private static final Map<TableInfo, Map<String, Object>> MODEL_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 使用配置变量和表变量渲染模板
+     * @param templateName 模板名称
+     * @param tableInfo 表信息对象
+     * @return 渲染结果
+     */
+    public static String render(String templateName, TableInfo tableInfo) {
+        return Template.get(templateName).render(CONSTANT_MAP, get(tableInfo));
+    }
+
+    /**
+     * 获取配置变量
+     * @return 配置变量，不可修改
+     */
+    public static Map<String, Object> getConstantMap() {
+        return CONSTANT_MAP;
+    }
+
+    /**
+     * 获取表变量，同一张表只创建一次
+     * @param tableInfo 表信息对象
+     * @return 表变量
+     */
+    public static Map<String, Object> get(TableInfo tableInfo) {
+        Map<String, Object> model = MODEL_CACHE.get(tableInfo);
+        if (model == null) {
+            // 多个生成器同时创建时结果相同，保留任意一个即可
+            model = create(tableInfo);
+            MODEL_CACHE.put(tableInfo, model);
+        }
+        return model;
+    }
+
+    /**
+     * 创建表变量
+     * @param tableInfo 表信息对象
+     * @return 表变量
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> create(TableInfo tableInfo) {
+        String beanName = tableInfo.getBeanName();
+        Map<String, Object> model = new HashMap<>(64);
+        model.put("tableName", tableInfo.getTableName());
+        model.put("beanName", beanName);
+        model.put("beanParamName", tableInfo.getBeanParamName());
+        model.put("beanNameLower", StringUtils.lowerCaseFirst(beanName));
+        model.put("comment", tableInfo.getComment());
+        model.put("since", BuildComment.getSince());
+        model.put("countStrategy", getCountStrategy(tableInfo.getTableName()));
+        model.put("haveDateOrTime", Boolean.TRUE.equals(tableInfo.getHaveDate()) || Boolean.TRUE.equals(tableInfo.getHaveDateTime()));
+        model.put("haveBigDecimal", Boolean.TRUE.equals(tableInfo.getHaveBigDecimal()));
+
+        String mapperName = beanName + Constants.SUFFIX_MAPPER;
+        String serviceName = beanName + Constants.SUFFIX_SERVICE;
+        model.put("queryName", beanName + Constants.SUFFIX_BEAN_QUERY);
+        model.put("mapperName", mapperName);
+        model.put("mapperBeanName", StringUtils.lowerCaseFirst(mapperName));
+        model.put("serviceName", serviceName);
+        model.put("serviceBeanName", StringUtils.lowerCaseFirst(serviceName));
+        model.put("serviceImplName", beanName + Constants.SUFFIX_SERVICE_IMPL);
+        model.put("controllerName", beanName + Constants.SUFFIX_CONTROLLER);
+
+        // 主键和唯一索引，同一字段在多个索引中时keyFields只保留一次
+        Set<String> keyFieldNameSet = new HashSet<>();
+        Set<String> keyPropertyNameSet = new HashSet<>();
+        List<FieldInfo> keyFieldList = new ArrayList<>();
+        // 主键的所有字段在resultMap中都映射为id，复合主键也可以确定记录
+        Set<String> idPropertyNameSet = new HashSet<>();
+        for (Map.Entry<String, List<FieldInfo>> entry : tableInfo.getKeyIndexMap().entrySet()) {
+            List<FieldInfo> fieldInfoList = entry.getValue();
+            for (FieldInfo fieldInfo : fieldInfoList) {
+                if ("PRIMARY".equals(entry.getKey())) {
+                    idPropertyNameSet.add(fieldInfo.getPropertyName());
+                }
+                keyFieldNameSet.add(fieldInfo.getFieldName());
+                if (keyPropertyNameSet.add(fieldInfo.getPropertyName())) {
+                    keyFieldList.add(fieldInfo);
+                }
+            }
+        }
+
+        // 是BTREE索引第一个字段的字段可使用前缀匹配和范围查询，是HASH索引第一个字段的字段只可使用等值查询，
+        // 有单字段FULLTEXT索引的字段可使用全文检索
+        Set<String> prefixFieldNameSet = new HashSet<>();
+        Set<String> equalFieldNameSet = new HashSet<>();
+        Set<String> matchFieldNameSet = new HashSet<>();
+        for (IndexInfo indexInfo : tableInfo.getIndexList()) {
+            List<FieldInfo> indexFieldList = indexInfo.getFieldList();
+            if (indexFieldList.isEmpty() || indexFieldList.get(0) == null) {
+                continue;
+            }
+            if ("FULLTEXT".equals(indexInfo.getIndexType())) {
+                if (indexFieldList.size() == 1) {
+                    matchFieldNameSet.add(indexFieldList.get(0).getFieldName());
+                }
+            } else if ("BTREE".equals(indexInfo.getIndexType())) {
+                prefixFieldNameSet.add(indexFieldList.get(0).getFieldName());
+                equalFieldNameSet.add(indexFieldList.get(0).getFieldName());
+            } else if ("HASH".equals(indexInfo.getIndexType())) {
+                equalFieldNameSet.add(indexFieldList.get(0).getFieldName());
+            }
+        }
+
+        // 同一个FieldInfo在字段列表和索引列表中共用一个字段变量
+        Map<FieldInfo, Map<String, Object>> fieldModelMap = new IdentityHashMap<>();
+        List<Map<String, Object>> fieldList = new ArrayList<>();
+        boolean haveIgnoreJson = false;
+        Map<String, Object> autoIncrementField = null;
+        for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
+            Map<String, Object> field = createField(fieldInfo, keyFieldNameSet, idPropertyNameSet);
+            field.put("fulltext", matchFieldNameSet.contains(fieldInfo.getFieldName()));
+            fieldModelMap.put(fieldInfo, field);
+            fieldList.add(field);
+            haveIgnoreJson |= field.containsKey("ignoreJsonExpression");
+            if (autoIncrementField == null && Boolean.TRUE.equals(fieldInfo.getIsAutoIncrement())) {
+                autoIncrementField = field;
+            }
+        }
+        // 字符串字段的模糊查询属性后依次加入前缀匹配属性和全文检索属性
+        boolean autoSearch = "auto".equalsIgnoreCase(Constants.SEARCH_FUZZY_MODE);
+        List<Map<String, Object>> extendFieldList = new ArrayList<>();
+        for (FieldInfo fieldInfo : tableInfo.getFieldExtendList()) {
+            Map<String, Object> field = createField(fieldInfo, keyFieldNameSet, idPropertyNameSet);
+            extendFieldList.add(field);
+            if (!Boolean.TRUE.equals(field.get("string"))) {
+                continue;
+            }
+            String fieldName = fieldInfo.getFieldName();
+            String basePropertyName = fieldInfo.getPropertyName().substring(0,
+                    fieldInfo.getPropertyName().length() - Constants.SUFFIX_BEAN_QUERY_FUZZY.length());
+            if (autoSearch && matchFieldNameSet.contains(fieldName)) {
+                field.put("match", true);
+            } else if (autoSearch && prefixFieldNameSet.contains(fieldName)) {
+                field.put("prefix", true);
+            } else {
+                field.put("contains", true);
+            }
+            Map<String, Object> prefixField = createField(copyField(fieldInfo, basePropertyName + Constants.SUFFIX_BEAN_QUERY_PREFIX),
+                    keyFieldNameSet, idPropertyNameSet);
+            prefixField.put("prefix", true);
+            extendFieldList.add(prefixField);
+            if (matchFieldNameSet.contains(fieldName)) {
+                Map<String, Object> matchField = createField(copyField(fieldInfo, basePropertyName + Constants.SUFFIX_BEAN_QUERY_MATCH),
+                        keyFieldNameSet, idPropertyNameSet);
+                matchField.put("match", true);
+                extendFieldList.add(matchField);
+            }
+        }
+        // 主键和单字段唯一索引的键值列表属性，生成in条件
+        List<Map<String, Object>> inFieldList = new ArrayList<>();
+        Set<String> inPropertyNameSet = new HashSet<>();
+        for (List<FieldInfo> fieldInfoList : tableInfo.getKeyIndexMap().values()) {
+            FieldInfo fieldInfo = fieldInfoList.get(0);
+            if (fieldInfoList.size() != 1 || !inPropertyNameSet.add(fieldInfo.getPropertyName())) {
+                continue;
+            }
+            FieldInfo inFieldInfo = copyField(fieldInfo, fieldInfo.getPropertyName() + Constants.SUFFIX_BEAN_QUERY_LIST);
+            inFieldInfo.setJavaType("List<" + fieldInfo.getJavaType() + ">");
+            inFieldList.add(createField(inFieldInfo, keyFieldNameSet, idPropertyNameSet));
+        }
+        List<Map<String, Object>> allFieldList = new ArrayList<>(fieldList);
+        allFieldList.addAll(extendFieldList);
+        allFieldList.addAll(inFieldList);
+
+        // 查询类中没有索引可用的查询条件属性
+        List<String> unindexedFilterList = new ArrayList<>();
+        for (Map<String, Object> field : allFieldList) {
+            String fieldName = (String) field.get("fieldName");
+            boolean indexed;
+            if (Boolean.TRUE.equals(field.get("match"))) {
+                indexed = true;
+            } else if (Boolean.TRUE.equals(field.get("contains"))) {
+                indexed = false;
+            } else if (Boolean.TRUE.equals(field.get("prefix")) || Boolean.TRUE.equals(field.get("timeStart"))
+                    || Boolean.TRUE.equals(field.get("timeEnd"))) {
+                indexed = prefixFieldNameSet.contains(fieldName);
+            } else {
+                indexed = equalFieldNameSet.contains(fieldName);
+            }
+            if (!indexed) {
+                unindexedFilterList.add((String) field.get("propertyName"));
+            }
+        }
+        model.put("unindexedFilters", Collections.unmodifiableList(unindexedFilterList));
+        model.put("fields", fieldList);
+        model.put("extendFields", extendFieldList);
+        model.put("inFields", inFieldList);
+        model.put("allFields", allFieldList);
+        model.put("fieldCount", fieldList.size());
+        model.put("haveIgnoreJson", haveIgnoreJson);
+        model.put("autoIncrementField", autoIncrementField);
+
+        List<Map<String, Object>> keyFields = new ArrayList<>();
+        for (FieldInfo fieldInfo : keyFieldList) {
+            keyFields.add(getField(fieldModelMap, fieldInfo, keyFieldNameSet, idPropertyNameSet));
+        }
+        model.put("keyFields", keyFields);
+        model.put("haveKeyFields", !keyFields.isEmpty());
+
+        // 每个主键或唯一索引生成一组方法，方法名为字段名首字母大写后用And连接，如NameAndId
+        List<Map<String, Object>> keyIndexList = new ArrayList<>();
+        boolean haveKeyTuples = false;
+        for (Map.Entry<String, List<FieldInfo>> entry : tableInfo.getKeyIndexMap().entrySet()) {
+            List<FieldInfo> fieldInfoList = entry.getValue();
+            StringBuilder methodName = new StringBuilder();
+            List<Map<String, Object>> keyIndexFieldList = new ArrayList<>();
+            boolean notNull = true;
+            for (FieldInfo fieldInfo : fieldInfoList) {
+                if (methodName.length() > 0) {
+                    methodName.append("And");
+                }
+                methodName.append(StringUtils.uperCaseFirst(fieldInfo.getPropertyName()));
+                keyIndexFieldList.add(getField(fieldModelMap, fieldInfo, keyFieldNameSet, idPropertyNameSet));
+                notNull &= Boolean.FALSE.equals(fieldInfo.getIsNullable());
+            }
+            Map<String, Object> keyIndex = new HashMap<>();
+            // NULL排在最前且不满足大于条件，键集分页只为主键和字段都是NOT NULL的唯一索引生成
+            keyIndex.put("keyset", "PRIMARY".equals(entry.getKey()) || notNull);
+            keyIndex.put("methodName", methodName.toString());
+            keyIndex.put("indexFields", keyIndexFieldList);
+            keyIndex.put("seekCondition", getSeekCondition(fieldInfoList));
+            // 按键批量更新时更新的字段，不包括索引本身的字段
+            Set<String> indexFieldNameSet = new HashSet<>();
+            for (FieldInfo fieldInfo : fieldInfoList) {
+                indexFieldNameSet.add(fieldInfo.getFieldName());
+            }
+            List<Map<String, Object>> updateFieldList = new ArrayList<>();
+            StringBuilder updateCondition = new StringBuilder();
+            for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
+                if (!indexFieldNameSet.contains(fieldInfo.getFieldName())) {
+                    updateFieldList.add(fieldModelMap.get(fieldInfo));
+                    if (updateCondition.length() > 0) {
+                        updateCondition.append(" || ");
+                    }
+                    updateCondition.append("bean.get").append(StringUtils.uperCaseFirst(fieldInfo.getPropertyName())).append("() != null");
+                }
+            }
+            keyIndex.put("updateFields", updateFieldList);
+            // 记录是否有可更新的属性，case when语句没有set子句时无法执行，没有可更新的字段时为false
+            keyIndex.put("updateCondition", updateCondition.length() > 0 ? updateCondition.toString() : "false");
+            // 单字段的索引生成按键值列表批量查询和删除的方法，多字段的索引生成键值record和按键值列表批量查询的方法
+            if (keyIndexFieldList.size() == 1) {
+                keyIndex.put("listField", keyIndexFieldList.get(0));
+            } else {
+                keyIndex.put("keyTuple", true);
+                keyIndex.put("keyName", methodName + "Key");
+                haveKeyTuples = true;
+            }
+            keyIndexList.add(keyIndex);
+        }
+        model.put("keyIndexes", keyIndexList);
+        model.put("haveKeyLists", !keyIndexList.isEmpty());
+        model.put("haveKeyTuples", haveKeyTuples);
+
+        // 每个普通索引生成一个带条数限制的列表查询方法，与主键或唯一索引字段相同、含函数索引的索引不生成，字段相同的索引只生成一次
+        Set<String> methodNameSet = new HashSet<>();
+        for (Map<String, Object> keyIndex : keyIndexList) {
+            methodNameSet.add((String) keyIndex.get("methodName"));
+        }
+        List<Map<String, Object>> normalIndexList = new ArrayList<>();
+        for (IndexInfo indexInfo : tableInfo.getIndexList()) {
+            if (indexInfo.getIsUnique() || !("BTREE".equals(indexInfo.getIndexType()) || "HASH".equals(indexInfo.getIndexType()))
+                    || indexInfo.getFieldList().contains(null)) {
+                continue;
+            }
+            StringBuilder methodName = new StringBuilder();
+            List<Map<String, Object>> indexFieldList = new ArrayList<>();
+            for (FieldInfo fieldInfo : indexInfo.getFieldList()) {
+                if (methodName.length() > 0) {
+                    methodName.append("And");
+                }
+                methodName.append(StringUtils.uperCaseFirst(fieldInfo.getPropertyName()));
+                indexFieldList.add(getField(fieldModelMap, fieldInfo, keyFieldNameSet, idPropertyNameSet));
+            }
+            if (!methodNameSet.add(methodName.toString())) {
+                continue;
+            }
+            Map<String, Object> normalIndex = new HashMap<>();
+            normalIndex.put("indexName", indexInfo.getIndexName());
+            normalIndex.put("methodName", methodName.toString());
+            normalIndex.put("indexFields", indexFieldList);
+            normalIndexList.add(normalIndex);
+        }
+        model.put("normalIndexes", normalIndexList);
+        model.put("haveNormalIndexes", !normalIndexList.isEmpty());
+
+        // 键或普通索引中有日期字段时，Mapper、Service和Controller的方法参数使用Date，需要导入
+        boolean haveDateParams = false;
+        for (List<Map<String, Object>> indexList : List.of(keyIndexList, normalIndexList)) {
+            for (Map<String, Object> index : indexList) {
+                for (Map<String, Object> field : (List<Map<String, Object>>) index.get("indexFields")) {
+                    haveDateParams |= Boolean.TRUE.equals(field.get("dateOrTime"));
+                }
+            }
+        }
+        model.put("haveDateParams", haveDateParams);
+        return model;
+    }
+
+    /**
+     * 获取查询类中没有索引可用的查询条件属性，按属性在查询类中的顺序排列
+     * 等值条件需要字段是BTREE或HASH索引的第一个字段，前缀匹配和时间范围条件需要字段是BTREE索引的第一个字段，
+     * 包含匹配的模糊查询始终无法使用索引
+     * @param tableInfo 表信息对象
+     * @return 属性名列表
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> getUnindexedFilters(TableInfo tableInfo) {
+        return (List<String>) get(tableInfo).get("unindexedFilters");
+    }
+
+    /**
+     * 获取表的分页查询获取总数的方式，count.strategy.表名优先于count.strategy，都未配置时为exact
+     * @param tableName 表名
+     * @return CountStrategy枚举的常量名
+     */
+    private static String getCountStrategy(String tableName) {
+        String countStrategy = PropertiesUtils.getString("count.strategy." + tableName);
+        if (org.apache.commons.lang3.StringUtils.isBlank(countStrategy)) {
+            countStrategy = Constants.COUNT_STRATEGY;
+        }
+        if (org.apache.commons.lang3.StringUtils.isBlank(countStrategy)) {
+            return "EXACT";
+        }
+        countStrategy = countStrategy.trim().toUpperCase(Locale.ROOT);
+        if (!ArrayUtils.contains(COUNT_STRATEGIES, countStrategy)) {
+            throw new RuntimeException("表" + tableName + "配置的分页总数获取方式不支持: " + countStrategy);
+        }
+        return countStrategy;
+    }
+
+    /**
+     * 生成键集分页的条件，取按索引列排序后排在指定键值之后的记录
+     * 复合索引展开为or条件，如(a > #{a} or (a = #{a} and b > #{b}))，MySQL可转换为索引上的范围扫描
+     * @param fieldInfoList 索引字段
+     * @return 查询条件
+     */
+    private static String getSeekCondition(List<FieldInfo> fieldInfoList) {
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < fieldInfoList.size(); i++) {
+            StringBuilder term = new StringBuilder();
+            for (int j = 0; j < i; j++) {
+                FieldInfo fieldInfo = fieldInfoList.get(j);
+                term.append(fieldInfo.getFieldName()).append(" = #{").append(fieldInfo.getPropertyName()).append("} and ");
+            }
+            FieldInfo fieldInfo = fieldInfoList.get(i);
+            term.append(fieldInfo.getFieldName()).append(" > #{").append(fieldInfo.getPropertyName()).append('}');
+            if (i > 0) {
+                condition.append(" or (").append(term).append(')');
+            } else {
+                condition.append(term);
+            }
+        }
+        return fieldInfoList.size() > 1 ? "(" + condition + ")" : condition.toString();
+    }
+
+    /**
+     * 复制字段信息并使用新的属性名，用于生成查询条件属性
+     * @param fieldInfo 字段信息对象
+     * @param propertyName 属性名
+     * @return 新的字段信息对象
+     */
+    private static FieldInfo copyField(FieldInfo fieldInfo, String propertyName) {
+        FieldInfo copyFieldInfo = new FieldInfo();
+        copyFieldInfo.setPropertyName(propertyName);
+        copyFieldInfo.setJavaType(fieldInfo.getJavaType());
+        copyFieldInfo.setFieldName(fieldInfo.getFieldName());
+        copyFieldInfo.setSqlType(fieldInfo.getSqlType());
+        return copyFieldInfo;
+    }
+
+    /**
+     * 获取字段变量，索引中的字段不在字段列表中时单独创建
+     */
+    private static Map<String, Object> getField(Map<FieldInfo, Map<String, Object>> fieldModelMap, FieldInfo fieldInfo,
+                                                Set<String> keyFieldNameSet, Set<String> idPropertyNameSet) {
+        Map<String, Object> field = fieldModelMap.get(fieldInfo);
+        return field != null ? field : createField(fieldInfo, keyFieldNameSet, idPropertyNameSet);
+    }
+
+    /**
+     * 创建字段变量
+     * @param fieldInfo 字段信息对象
+     * @param keyFieldNameSet 主键和唯一索引包含的字段名
+     * @param idPropertyNameSet 主键包含的属性名
+     * @return 字段变量
+     */
+    private static Map<String, Object> createField(FieldInfo fieldInfo, Set<String> keyFieldNameSet, Set<String> idPropertyNameSet) {
+        String propertyName = fieldInfo.getPropertyName();
+        String sqlType = fieldInfo.getSqlType();
+        boolean date = ArrayUtils.contains(Constants.DATE_TYPES, sqlType);
+        boolean dateTime = ArrayUtils.contains(Constants.DATE_TIME_TYPES, sqlType);
+
+        Map<String, Object> field = new HashMap<>(32);
+        field.put("fieldName", fieldInfo.getFieldName());
+        field.put("propertyName", propertyName);
+        field.put("methodName", StringUtils.uperCaseFirst(propertyName));
+        field.put("javaType", fieldInfo.getJavaType());
+        field.put("sqlType", sqlType);
+        field.put("comment", fieldInfo.getComment());
+        field.put("string", ArrayUtils.contains(Constants.STRING_TYPES, sqlType));
+        field.put("javaString", Constants.JAVA_TYPE_STRING.equals(fieldInfo.getJavaType()));
+        field.put("javaDecimal", Constants.JAVA_TYPE_DECIMAL.equals(fieldInfo.getJavaType()));
+        field.put("date", date);
+        field.put("dateTime", dateTime);
+        field.put("dateOrTime", date || dateTime);
+        field.put("timeStart", (date || dateTime) && propertyName.endsWith(Constants.SUFFIX_BEAN_QUERY_TIME_START));
+        field.put("timeEnd", (date || dateTime) && propertyName.endsWith(Constants.SUFFIX_BEAN_QUERY_TIME_END));
+        field.put("autoIncrement", Boolean.TRUE.equals(fieldInfo.getIsAutoIncrement()));
+        field.put("key", keyFieldNameSet.contains(fieldInfo.getFieldName()));
+        field.put("id", idPropertyNameSet.contains(propertyName));
+        if (ArrayUtils.contains(IGNORE_BEAN_TOJSON_FIELDS, propertyName)) {
+            field.put("ignoreJsonExpression", String.format(Constants.IGNORE_BEAN_TOJSON_EXPRESSION, propertyName));
+        }
+        return field;
+    }
+
+    /**
+     * 创建配置变量
+     * @return 配置变量
+     */
+    private static Map<String, Object> createConstantMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("author", Constants.AUTHOR_COMMENT);
+        map.put("packagePo", Constants.PACKAGE_PO);
+        map.put("packageQuery", Constants.PACKAGE_QUERY);
+        map.put("packageUtils", Constants.PACKAGE_UTILS);
+        map.put("packageEnum", Constants.PACKAGE_ENUM);
+        map.put("packageMapper", Constants.PACKAGE_MAPPER);
+        map.put("packageService", Constants.PACKAGE_SERVICE);
+        map.put("packageServiceImpl", Constants.PACKAGE_SERVICE_IMPL);
+        map.put("packageVo", Constants.PACKAGE_VO);
+        map.put("packageController", Constants.PACKAGE_CONTROLLER);
+        map.put("suffixService", Constants.SUFFIX_SERVICE);
+        map.put("suffixServiceImpl", Constants.SUFFIX_SERVICE_IMPL);
+        map.put("suffixController", Constants.SUFFIX_CONTROLLER);
+        map.put("suffixFuzzy", Constants.SUFFIX_BEAN_QUERY_FUZZY);
+        map.put("suffixPrefix", Constants.SUFFIX_BEAN_QUERY_PREFIX);
+        map.put("suffixMatch", Constants.SUFFIX_BEAN_QUERY_MATCH);
+        map.put("suffixTimeStart", Constants.SUFFIX_BEAN_QUERY_TIME_START);
+        map.put("suffixTimeEnd", Constants.SUFFIX_BEAN_QUERY_TIME_END);
+        map.put("batchJdbc", "jdbc".equalsIgnoreCase(Constants.BATCH_INSERT_MODE));
+        map.put("batchInsertRows", Constants.BATCH_INSERT_ROWS);
+        map.put("batchInsertBytes", Constants.BATCH_INSERT_BYTES);
+        map.put("batchUpdateJdbc", "jdbc".equalsIgnoreCase(Constants.BATCH_UPDATE_MODE));
+        map.put("batchUpdateRows", Constants.BATCH_UPDATE_ROWS);
+        // 批量新增或按键批量更新使用BATCH执行器时需要的导入和方法
+        map.put("batchExecutor", "jdbc".equalsIgnoreCase(Constants.BATCH_INSERT_MODE) || "jdbc".equalsIgnoreCase(Constants.BATCH_UPDATE_MODE));
+        map.put("batchInBuckets", Arrays.stream(Constants.BATCH_IN_BUCKETS).mapToObj(String::valueOf).collect(Collectors.joining(", ")));
+        map.put("streamFetchSize", Constants.STREAM_FETCH_SIZE);
+        map.put("finderLimitMax", Constants.FINDER_LIMIT_MAX);
+        map.put("ignoreJsonClass", Constants.IGNORE_BEAN_TOJSON_CLASS);
+        map.put("dateFormatClass", Constants.BEAN_DATE_FORMAT_CLASS);
+        map.put("dateParseClass", Constants.BEAN_DATE_PARSE_CLASS);
+        map.put("dateFormatExpression", String.format(Constants.BEAN_DATE_FORMAT_EXPRESSION, DateUtils.DATE_FORMAT));
+        map.put("dateParseExpression", String.format(Constants.BEAN_DATE_PARSE_EXPRESSION, DateUtils.DATE_FORMAT));
+        map.put("dateTimeFormatExpression", String.format(Constants.BEAN_DATE_FORMAT_EXPRESSION, DateUtils.DATE_TIME_FORMAT));
+        map.put("dateTimeParseExpression", String.format(Constants.BEAN_DATE_PARSE_EXPRESSION, DateUtils.DATE_TIME_FORMAT));
+        return map;
+    }
+}
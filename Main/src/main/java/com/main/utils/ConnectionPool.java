@@ -0,0 +1,90 @@
+package com.main.utils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * ConnectionPool类
+ * 固定上限的简单数据库连接池，连接按需创建，最多创建maxSize个
+ * 连接用完后需调用release归还，池满时getConnection会阻塞等待其他线程归还
+ */
+public class ConnectionPool {
+    // 数据库连接信息
+    private final String url;
+    private final String username;
+    private final String password;
+    // 连接数上限
+    private final int maxSize;
+    // 空闲连接队列
+    private final BlockingQueue<Connection> idleQueue;
+    // 已创建的全部连接，用于关闭连接池
+    private final List<Connection> allConnections = new ArrayList<>();
+
+    public ConnectionPool(String url, String username, String password, int maxSize) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = Math.max(1, maxSize);
+        this.idleQueue = new ArrayBlockingQueue<>(this.maxSize);
+    }
+
+    /**
+     * 获取一个连接，优先复用空闲连接，未达上限时新建连接，否则阻塞等待
+     * @return 数据库连接
+     * @throws SQLException 创建连接失败或等待被中断
+     */
+    public Connection getConnection() throws SQLException {
+        Connection conn = idleQueue.poll();
+        if (conn != null) {
+            return conn;
+        }
+        synchronized (this) {
+            if (allConnections.size() < maxSize) {
+                conn = DriverManager.getConnection(url, username, password);
+                allConnections.add(conn);
+                return conn;
+            }
+        }
+        try {
+            return idleQueue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("等待数据库连接被中断", e);
+        }
+    }
+
+    /**
+     * 归还连接
+     * @param conn 通过getConnection获取的连接
+     */
+    public void release(Connection conn) {
+        if (conn != null) {
+            idleQueue.offer(conn);
+        }
+    }
+
+    /**
+     * 关闭连接池中已创建的全部连接
+     * @throws SQLException 关闭连接失败
+     */
+    public synchronized void close() throws SQLException {
+        SQLException exception = null;
+        for (Connection conn : allConnections) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                exception = e;
+            }
+        }
+        allConnections.clear();
+        idleQueue.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.main.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class HashUtils {
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 计算字符串的SHA-256摘要
+     * @param str 待计算的字符串，按UTF-8编码
+     * @return 十六进制摘要字符串
+     */
+    public static String sha256Hex(String str) {
+        return sha256Hex(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 计算字节数组的SHA-256摘要
+     * @param bytes 待计算的字节数组
+     * @return 十六进制摘要字符串
+     */
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_CHARS[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_CHARS[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -65,6 +65,28 @@ public class PropertiesUtils {
         return propMap.get(key);
     }
 
+    /**
+     * 根据键获取整数配置值的静态方法
+     * @param key 配置项的键
+     * @param defaultValue 配置项不存在或为空时的默认值
+     * @return 配置项的整数值
+     */
+    public static Integer getInteger(String key, Integer defaultValue){
+        String value = propMap.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Integer.valueOf(value.trim());
+    }
+
+    /**
+     * 获取所有配置项的键
+     * @return 配置项键的集合
+     */
+    public static Set<String> getKeys(){
+        return propMap.keySet();
+    }
+
     /**
      * 主方法，用于测试
      * @param args 命令行参数
@@ -0,0 +1,138 @@
+{{! Controller模板，方法直接调用Service }}
+package {{packageController}};
+
+import {{packagePo}}.{{beanName}};
+import {{packageQuery}}.{{queryName}};
+import {{packageService}}.{{serviceName}};
+import {{packageVo}}.ResponseVO;
+import {{packageService}}.{{serviceName}};
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import jakarta.annotation.Resource;
+{{#haveDateParams}}
+{{dateParseClass}}
+import java.util.Date;
+{{/haveDateParams}}
+import java.util.List;
+
+/**
+ * {{comment}}{{suffixController}}
+ * @author {{author}}
+{{#since}}
+ * @since {{since}}
+{{/since}}
+ */
+@RestController
+@RequestMapping("/{{beanNameLower}}")
+public class {{controllerName}} extends ABaseController {
+	@Resource
+	private {{serviceName}} {{serviceBeanName}};
+
+	// 加载数据列表
+	@RequestMapping("loadDataList")
+	public ResponseVO loadDataList({{beanParamName}} query) {
+		return getSuccessResponse({{serviceBeanName}}.findPageByParam(query));
+	}
+
+	// 新增
+	@RequestMapping("add")
+	public ResponseVO add({{beanName}} bean) {
+		this.{{serviceBeanName}}.add(bean);
+		return getSuccessResponse(null);
+	}
+
+	// 批量新增，返回每块的影响行数
+	@RequestMapping("addBatch")
+	public ResponseVO addBatch(@RequestBody List<{{beanName}}> listBean) {
+		return getSuccessResponse(this.{{serviceBeanName}}.addBatch(listBean));
+	}
+
+	// 批量新增或修改，返回每块的影响行数
+	@RequestMapping("addOrUpdateBatch")
+	public ResponseVO addOrUpdateBatch(@RequestBody List<{{beanName}}> listBean) {
+		return getSuccessResponse(this.{{serviceBeanName}}.addOrUpdateBatch(listBean));
+	}
+
+	// 多条件更新
+	@RequestMapping("updateByParam")
+	public ResponseVO updateByParam({{beanName}} bean, {{beanParamName}} param) {
+		this.{{serviceBeanName}}.updateByParam(bean, param);
+		return getSuccessResponse(null);
+	}
+
+	// 多条件删除
+	@RequestMapping("deleteByParam")
+	public ResponseVO deleteByParam({{beanParamName}} param) {
+		this.{{serviceBeanName}}.deleteByParam(param);
+		return getSuccessResponse(null);
+	}
+
+{{#keyIndexes}}
+	// 根据{{methodName}}查询
+	@RequestMapping("get{{beanName}}By{{methodName}}")
+	public ResponseVO get{{beanName}}By{{methodName}}({{#indexFields}}{{#dateTime}}{{dateTimeParseExpression}} {{/dateTime}}{{#date}}{{dateParseExpression}} {{/date}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) {
+		return getSuccessResponse(this.{{serviceBeanName}}.get{{beanName}}By{{methodName}}({{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}));
+	}
+
+	// 根据{{methodName}}更新
+	@RequestMapping("update{{beanName}}By{{methodName}}")
+	public ResponseVO update{{beanName}}By{{methodName}}({{beanName}} bean, {{#indexFields}}{{#dateTime}}{{dateTimeParseExpression}} {{/dateTime}}{{#date}}{{dateParseExpression}} {{/date}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) {
+		this.{{serviceBeanName}}.update{{beanName}}By{{methodName}}(bean, {{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+		return getSuccessResponse(null);
+	}
+
+	// 根据{{methodName}}批量更新
+	@RequestMapping("update{{beanName}}BatchBy{{methodName}}")
+	public ResponseVO update{{beanName}}BatchBy{{methodName}}(@RequestBody List<{{beanName}}> listBean) {
+		return getSuccessResponse(this.{{serviceBeanName}}.update{{beanName}}BatchBy{{methodName}}(listBean));
+	}
+
+	// 根据{{methodName}}删除
+	@RequestMapping("delete{{beanName}}By{{methodName}}")
+	public ResponseVO delete{{beanName}}By{{methodName}}({{#indexFields}}{{#dateTime}}{{dateTimeParseExpression}} {{/dateTime}}{{#date}}{{dateParseExpression}} {{/date}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) {
+		this.{{serviceBeanName}}.delete{{beanName}}By{{methodName}}({{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+		return getSuccessResponse(null);
+	}
+{{#keyset}}
+
+	// 根据{{methodName}}分页加载数据列表，请求下一页时传入上一页返回的nextKey中的参数
+	// 键值参数名加after前缀，不会同时绑定到查询条件中的同名属性
+	@RequestMapping("loadDataListAfterBy{{methodName}}")
+	public ResponseVO loadDataListAfterBy{{methodName}}({{beanParamName}} query{{#indexFields}}, {{#dateTime}}{{dateTimeParseExpression}} {{/dateTime}}{{#date}}{{dateParseExpression}} {{/date}}{{javaType}} after{{methodName}}{{/indexFields}}) {
+		return getSuccessResponse(this.{{serviceBeanName}}.findPageAfterBy{{methodName}}(query{{#indexFields}}, after{{methodName}}{{/indexFields}}));
+	}
+{{/keyset}}
+{{#listField}}
+
+	// 根据{{methodName}}列表批量查询
+	@RequestMapping("get{{beanName}}ListBy{{methodName}}List")
+	public ResponseVO get{{beanName}}ListBy{{methodName}}List(@RequestBody List<{{javaType}}> {{propertyName}}List) {
+		return getSuccessResponse(this.{{serviceBeanName}}.get{{beanName}}ListBy{{methodName}}List({{propertyName}}List));
+	}
+
+	// 根据{{methodName}}列表批量删除
+	@RequestMapping("delete{{beanName}}By{{methodName}}List")
+	public ResponseVO delete{{beanName}}By{{methodName}}List(@RequestBody List<{{javaType}}> {{propertyName}}List) {
+		this.{{serviceBeanName}}.delete{{beanName}}By{{methodName}}List({{propertyName}}List);
+		return getSuccessResponse(null);
+	}
+{{/listField}}
+{{#keyTuple}}
+
+	// 根据{{methodName}}键值列表批量查询
+	@RequestMapping("get{{beanName}}ListBy{{methodName}}List")
+	public ResponseVO get{{beanName}}ListBy{{methodName}}List(@RequestBody List<{{beanName}}.{{keyName}}> keyList) {
+		return getSuccessResponse(this.{{serviceBeanName}}.get{{beanName}}ListBy{{methodName}}List(keyList));
+	}
+{{/keyTuple}}
+{{/keyIndexes}}
+{{#normalIndexes}}
+
+	// 根据索引{{indexName}}加载数据列表，最多返回limit条
+	@RequestMapping("loadDataListBy{{methodName}}")
+	public ResponseVO loadDataListBy{{methodName}}({{#indexFields}}{{#dateTime}}{{dateTimeParseExpression}} {{/dateTime}}{{#date}}{{dateParseExpression}} {{/date}}{{javaType}} {{propertyName}}, {{/indexFields}}Integer limit) {
+		return getSuccessResponse(this.{{serviceBeanName}}.find{{beanName}}ListBy{{methodName}}({{#indexFields}}{{propertyName}}, {{/indexFields}}limit));
+	}
+{{/normalIndexes}}
+}
\ No newline at end of file
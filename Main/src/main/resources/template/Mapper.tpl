@@ -0,0 +1,75 @@
+{{! Mapper接口模板，每个主键或唯一索引生成查询、更新、删除方法 }}
+package {{packageMapper}};
+
+{{#haveKeyTuples}}
+import {{packagePo}}.{{beanName}};
+{{/haveKeyTuples}}
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+import java.util.Collection;
+{{#haveDateParams}}
+import java.util.Date;
+{{/haveDateParams}}
+import java.util.List;
+
+/**
+ * {{comment}}mapper
+ * @author {{author}}
+{{#since}}
+ * @since {{since}}
+{{/since}}
+ */
+public interface {{mapperName}}<T, P> extends BaseMapper {
+	// 多条件更新
+	Integer updateByParam(@Param("bean") T t, @Param("query") P p);
+
+	// 多条件删除
+	Integer deleteByParam(@Param("query") P p);
+
+	// 查询表的估算行数，来自information_schema中的统计信息，table_rows为BIGINT
+	Long selectCountEstimate();
+
+	// 游标查询列表，逐条读取结果，需要在SqlSession关闭前读取完毕
+	Cursor<T> selectCursor(@Param("query") P p);
+
+	// 逐条回调查询列表，结果不在内存中保留
+	void selectByHandler(@Param("query") P p, ResultHandler<T> handler);
+{{#keyIndexes}}
+
+	// 根据{{methodName}}查询
+	T selectBy{{methodName}}({{#indexFields}}@Param("{{propertyName}}") {{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+
+	// 根据{{methodName}}更新
+	Integer updateBy{{methodName}}(@Param("bean") T t, {{#indexFields}}@Param("{{propertyName}}") {{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+
+	// 根据{{methodName}}批量更新，一条case when语句更新列表中的所有记录，为null的属性不更新
+	Integer updateBatchBy{{methodName}}(@Param("list") List<T> list);
+
+	// 根据{{methodName}}删除
+	Integer deleteBy{{methodName}}({{#indexFields}}@Param("{{propertyName}}") {{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+{{#keyset}}
+
+	// 根据{{methodName}}分页查询，按{{methodName}}排序，返回排在指定键值之后的limit条记录，键值为null时从第一条开始
+	List<T> selectPageAfterBy{{methodName}}(@Param("query") P p, {{#indexFields}}@Param("{{propertyName}}") {{javaType}} {{propertyName}}, {{/indexFields}}@Param("limit") Integer limit);
+{{/keyset}}
+{{#listField}}
+
+	// 根据{{methodName}}列表批量查询，列表不能为空
+	List<T> selectBy{{methodName}}List(@Param("list") Collection<{{javaType}}> list);
+
+	// 根据{{methodName}}列表批量删除，列表不能为空
+	Integer deleteBy{{methodName}}List(@Param("list") Collection<{{javaType}}> list);
+{{/listField}}
+{{#keyTuple}}
+
+	// 根据{{methodName}}键值列表批量查询，列表不能为空
+	List<T> selectBy{{methodName}}List(@Param("list") Collection<{{beanName}}.{{keyName}}> list);
+{{/keyTuple}}
+{{/keyIndexes}}
+{{#normalIndexes}}
+
+	// 根据索引{{indexName}}查询，最多返回limit条记录
+	List<T> selectListBy{{methodName}}({{#indexFields}}@Param("{{propertyName}}") {{javaType}} {{propertyName}}, {{/indexFields}}@Param("limit") Integer limit);
+{{/normalIndexes}}
+}
\ No newline at end of file
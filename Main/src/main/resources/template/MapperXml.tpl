@@ -0,0 +1,396 @@
+{{! MyBatis映射文件模板，包含实体映射、查询条件、增删改查和批量插入语句 }}
+<?xml version="1.0" encoding="UTF-8"?>
+<!DOCTYPE mapper PUBLIC "-//mybatis.org//DTD Mapper 3.0//EN" "http://mybatis.org/dtd/mybatis-3-mapper.dtd">
+<mapper namespace="{{packageMapper}}.{{mapperName}}">
+	<!-- 实体映射 -->
+	<resultMap id="base_result_map" type="{{packagePo}}.{{beanName}}">
+{{#fields}}
+		<!-- {{comment}} -->
+		<{{#id}}id{{/id}}{{^id}}result{{/id}} column="{{fieldName}}" property="{{propertyName}}"/>
+{{/fields}}
+	</resultMap>
+
+<!-- 通用查询结果列 -->
+	<sql id="base_column_list">
+		{{#fields}}{{fieldName}}{{^-last}},{{/-last}}{{/fields}}
+	</sql>
+
+<!-- 查询列，指定了查询的属性时只查询这些列，列名来自查询类中按表字段校验后的映射 -->
+	<sql id="select_column_list">
+		<choose>
+			<when test="query.selectColumns != null">
+				<foreach collection="query.selectColumns" item="column" separator=",">${column}</foreach>
+			</when>
+			<otherwise>
+				<include refid="base_column_list"/>
+			</otherwise>
+		</choose>
+	</sql>
+
+<!-- 基础查询条件 -->
+	<sql id="base_query_condition">
+{{#fields}}
+		<if test="query.{{propertyName}} != null {{#string}}and query.{{propertyName}}!=''{{/string}}">
+			and {{fieldName}} = #{query.{{propertyName}}}
+		</if>
+{{/fields}}
+	</sql>
+
+	<!-- 扩展查询条件 -->
+	<sql id="base_query_condition_extend">
+{{#extendFields}}
+		<if test="query.{{propertyName}} != null and query.{{propertyName}} !=''">
+			{{#string}}{{#contains}}and {{fieldName}} like concat('%',#{query.{{propertyName}}},'%'){{/contains}}{{#prefix}}and {{fieldName}} like concat(#{query.{{propertyName}}},'%'){{/prefix}}{{#match}}and match({{fieldName}}) against(#{query.{{propertyName}}}){{/match}}{{/string}}{{^string}}{{#timeStart}}<![CDATA[ and {{fieldName}} >= str_to_date(#{query.{{propertyName}}}, '%Y-%m-%d')]]>{{/timeStart}}{{#timeEnd}}<![CDATA[ and {{fieldName}} < date_sub(str_to_date(#{query.{{propertyName}}}, '%Y-%m-%d'), interval -1 day)]]>{{/timeEnd}}{{/string}}
+		</if>
+{{/extendFields}}
+{{#inFields}}
+		<if test="query.{{propertyName}} != null">
+			<choose>
+				<when test="query.{{propertyName}}.size() > 0">
+					and {{fieldName}} in <foreach collection="query.{{propertyName}}Padded" item="item" open="(" separator="," close=")">#{item}</foreach>
+				</when>
+				<otherwise>
+					and 1 = 2
+				</otherwise>
+			</choose>
+		</if>
+{{/inFields}}
+	</sql>
+
+	<!-- 通用查询条件 -->
+	<sql id="query_condition">
+		<where>
+			<include refid="base_query_condition"/>
+			<include refid="base_query_condition_extend"/>
+		</where>
+	</sql>
+
+	<!-- 列表查询语句 -->
+	<sql id="list_query">
+		SELECT <include refid="select_column_list"/>
+		FROM {{tableName}} 
+		<include refid="query_condition"/>
+		<if test="query.orderBy != null and query.orderBy != ''">
+			order by ${query.orderBy}
+		</if>
+		<if test="query.simplePage != null">
+			limit #{query.simplePage.start}, #{query.simplePage.end}
+		</if>
+	</sql>
+
+	<!-- 查询列表 -->
+	<select id="selectList" resultMap="base_result_map">
+		<include refid="list_query"/>
+	</select>
+
+	<!-- 游标查询列表，只向前读取，按fetchSize流式读取结果集 -->
+	<select id="selectCursor" resultMap="base_result_map" resultSetType="FORWARD_ONLY" fetchSize="{{streamFetchSize}}">
+		<include refid="list_query"/>
+	</select>
+
+	<!-- 逐条回调查询列表，只向前读取，按fetchSize流式读取结果集 -->
+	<select id="selectByHandler" resultMap="base_result_map" resultSetType="FORWARD_ONLY" fetchSize="{{streamFetchSize}}">
+		<include refid="list_query"/>
+	</select>
+
+	<!-- 查询数量 -->
+	<select id="selectCount" resultType="java.lang.Integer">
+		SELECT count(1) FROM {{tableName}} 
+		<include refid="query_condition"/>
+	</select>
+
+	<!-- 查询估算行数，与show table status的Rows一致，不扫描索引
+		MySQL 8按information_schema_stats_expiry(默认86400秒)缓存该值，统计信息过期前返回的可能是缓存时的行数 -->
+	<select id="selectCountEstimate" resultType="java.lang.Long">
+		SELECT table_rows FROM information_schema.TABLES WHERE table_schema = database() AND table_name = '{{tableName}}'
+	</select>
+
+	<!-- 插入(匹配有值的字段) -->
+	<insert id="insert" parameterType="{{packagePo}}.{{beanName}}">
+{{#autoIncrementField}}
+		<selectKey keyProperty="bean.{{fieldName}}" order="AFTER" resultType="{{javaType}}">
+			SELECT LAST_INSERT_ID()
+		</selectKey>
+{{/autoIncrementField}}
+		INSERT INTO {{tableName}}
+		<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+			<if test="bean.{{propertyName}} != null">
+				{{fieldName}}, 
+			</if>
+{{/fields}}
+		</trim>
+		<trim prefix="values(" suffix=")" suffixOverrides="," >
+{{#fields}}
+			<if test="bean.{{propertyName}} != null">
+				#{bean.{{propertyName}}}, 
+			</if>
+{{/fields}}
+		</trim>
+	</insert>
+
+	<!-- 插入或更新 -->
+	<insert id="insertOrUpdate" parameterType="{{packagePo}}.{{beanName}}">
+		INSERT INTO {{tableName}}
+		<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+			<if test="bean.{{propertyName}} != null">
+				{{fieldName}}, 
+			</if>
+{{/fields}}
+		</trim>
+		<trim prefix="values(" suffix=")" suffixOverrides="," >
+{{#fields}}
+			<if test="bean.{{propertyName}} != null">
+				#{bean.{{propertyName}}}, 
+			</if>
+{{/fields}}
+		</trim>
+		<trim prefix="on duplicate key update" suffixOverrides="," >
+{{#fields}}
+{{^key}}
+			<if test="bean.{{propertyName}} != null">
+				{{fieldName}} = VALUES({{fieldName}}), 
+			</if>
+{{/key}}
+{{/fields}}
+		</trim>
+	</insert>
+
+	<!-- 批量插入 -->
+	<insert id="insertBatch" parameterType="{{packagePo}}.{{beanName}}">
+		INSERT INTO {{tableName}}
+		<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			{{fieldName}}, 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+		values
+		<foreach collection="list" item="item" separator="," >
+			<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+				#{item.{{propertyName}}}, 
+{{/autoIncrement}}
+{{/fields}}
+			</trim>
+		</foreach>
+	</insert>
+
+	<!-- 批量插入或更新 -->
+	<insert id="insertOrUpdateBatch" parameterType="{{packagePo}}.{{beanName}}">
+		INSERT INTO {{tableName}}
+		<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			{{fieldName}}, 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+		values
+		<foreach collection="list" item="item" separator="," >
+			<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+				#{item.{{propertyName}}}, 
+{{/autoIncrement}}
+{{/fields}}
+			</trim>
+		</foreach>
+		<trim prefix="on duplicate key update" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			{{fieldName}} = VALUES({{fieldName}}), 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+	</insert>
+
+	<!-- 批量插入的单行语句，字段固定，BATCH执行器可复用同一条预编译语句 -->
+	<insert id="insertBatchRow" parameterType="{{packagePo}}.{{beanName}}">
+		INSERT INTO {{tableName}}
+		<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			{{fieldName}}, 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+		<trim prefix="values(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			#{bean.{{propertyName}}}, 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+	</insert>
+
+	<!-- 批量插入或更新的单行语句 -->
+	<insert id="insertOrUpdateBatchRow" parameterType="{{packagePo}}.{{beanName}}">
+		INSERT INTO {{tableName}}
+		<trim prefix="(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			{{fieldName}}, 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+		<trim prefix="values(" suffix=")" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			#{bean.{{propertyName}}}, 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+		<trim prefix="on duplicate key update" suffixOverrides="," >
+{{#fields}}
+{{^autoIncrement}}
+			{{fieldName}} = VALUES({{fieldName}}), 
+{{/autoIncrement}}
+{{/fields}}
+		</trim>
+	</insert>
+
+	<!-- 多条件更新 -->
+	<update id="updateByParam">
+		update {{tableName}}
+		<set>
+{{#fields}}
+{{^autoIncrement}}
+			<if test="bean.{{propertyName}} != null">
+				{{fieldName}} = #{bean.{{propertyName}}}, 
+			</if>
+{{/autoIncrement}}
+{{/fields}}
+		</set>
+		<where>
+{{#haveKeyFields}}
+			<if test="{{#keyFields}}query.{{propertyName}} == null {{^-last}}and {{/-last}}{{/keyFields}}">
+				1 = 2
+			</if>
+{{/haveKeyFields}}
+		<include refid="query_condition"/>
+		</where>
+	</update>
+
+	<!-- 多条件删除 -->
+	<delete id="deleteByParam">
+		delete from {{tableName}}
+		<where>
+{{#haveKeyFields}}
+			<if test="{{#keyFields}}query.{{propertyName}} == null {{^-last}}and {{/-last}}{{/keyFields}}">
+				1 = 2
+			</if>
+{{/haveKeyFields}}
+		<include refid="query_condition"/>
+		</where>
+	</delete>
+
+{{#keyIndexes}}
+
+	<!-- 根据{{methodName}}查询 -->
+	<select id="selectBy{{methodName}}" resultMap="base_result_map">
+		select <include refid="base_column_list"/>
+		from {{tableName}}
+		where {{#indexFields}}{{fieldName}} = #{{{propertyName}}} {{^-last}}and {{/-last}}{{/indexFields}}
+	</select>
+
+	<!-- 根据{{methodName}}删除 -->
+	<delete id="deleteBy{{methodName}}">
+		delete from {{tableName}}
+		where {{#indexFields}}{{fieldName}} = #{{{propertyName}}} {{^-last}}and {{/-last}}{{/indexFields}}
+	</delete>
+
+	<!-- 根据{{methodName}}更新 -->
+	<update id="updateBy{{methodName}}">
+		update {{tableName}}
+		<set>
+{{#fields}}
+			<if test="bean.{{propertyName}} != null">
+				{{fieldName}} = #{bean.{{propertyName}}}, 
+			</if>
+{{/fields}}
+		</set>
+		where {{#indexFields}}{{fieldName}} = #{{{propertyName}}} {{^-last}}and {{/-last}}{{/indexFields}}
+	</update>
+
+	<!-- 根据{{methodName}}批量更新，每个字段按键值选择新值，属性为null的记录保留原值 -->
+	<update id="updateBatchBy{{methodName}}">
+		update {{tableName}}
+		<trim prefix="set" suffixOverrides=",">
+{{#updateFields}}
+			<trim prefix="{{fieldName}} = case" suffix="else {{fieldName}} end,">
+				<foreach collection="list" item="item">
+					<if test="item.{{propertyName}} != null">
+						when {{#indexFields}}{{fieldName}} = #{item.{{propertyName}}}{{^-last}} and {{/-last}}{{/indexFields}} then #{item.{{propertyName}}}
+					</if>
+				</foreach>
+			</trim>
+{{/updateFields}}
+		</trim>
+{{#listField}}
+		where {{fieldName}} in <foreach collection="list" item="item" open="(" separator="," close=")">#{item.{{propertyName}}}</foreach>
+{{/listField}}
+{{#keyTuple}}
+		where ({{#indexFields}}{{fieldName}}{{^-last}}, {{/-last}}{{/indexFields}}) in <foreach collection="list" item="item" open="(" separator="," close=")">({{#indexFields}}#{item.{{propertyName}}}{{^-last}}, {{/-last}}{{/indexFields}})</foreach>
+{{/keyTuple}}
+	</update>
+
+{{#keyset}}
+	<!-- 根据{{methodName}}分页查询，从上一页最后一条记录的键值之后开始，不跳过前面的记录 -->
+	<select id="selectPageAfterBy{{methodName}}" resultMap="base_result_map">
+		select <include refid="select_column_list"/>
+		<!-- 键值列用于生成下一页的键值，指定的查询属性中没有这些列时补充查询，双引号的字符串在OGNL中不会被当作单个字符 -->
+{{#indexFields}}
+		<if test='query.selectColumns != null and !query.selectColumns.contains("{{fieldName}}")'>, {{fieldName}}</if>
+{{/indexFields}}
+		from {{tableName}}
+		<where>
+			<include refid="base_query_condition"/>
+			<include refid="base_query_condition_extend"/>
+			<if test="{{#indexFields}}{{propertyName}} != null{{^-last}} and {{/-last}}{{/indexFields}}">
+				<![CDATA[ and {{seekCondition}} ]]>
+			</if>
+		</where>
+		order by {{#indexFields}}{{fieldName}}{{^-last}}, {{/-last}}{{/indexFields}}
+		limit #{limit}
+	</select>
+{{/keyset}}
+{{#listField}}
+
+	<!-- 根据{{methodName}}批量查询，键值列表由Service分块并补齐到固定档位 -->
+	<select id="selectBy{{methodName}}List" resultMap="base_result_map">
+		select <include refid="base_column_list"/>
+		from {{tableName}}
+		where {{fieldName}} in <foreach collection="list" item="item" open="(" separator="," close=")">#{item}</foreach>
+	</select>
+
+	<!-- 根据{{methodName}}批量删除 -->
+	<delete id="deleteBy{{methodName}}List">
+		delete from {{tableName}}
+		where {{fieldName}} in <foreach collection="list" item="item" open="(" separator="," close=")">#{item}</foreach>
+	</delete>
+{{/listField}}
+{{#keyTuple}}
+
+	<!-- 根据{{methodName}}批量查询，使用行构造器in条件，键值列表由Service分块并补齐到固定档位 -->
+	<select id="selectBy{{methodName}}List" resultMap="base_result_map">
+		select <include refid="base_column_list"/>
+		from {{tableName}}
+		where ({{#indexFields}}{{fieldName}}{{^-last}}, {{/-last}}{{/indexFields}}) in <foreach collection="list" item="item" open="(" separator="," close=")">({{#indexFields}}#{item.{{propertyName}}}{{^-last}}, {{/-last}}{{/indexFields}})</foreach>
+	</select>
+{{/keyTuple}}
+{{/keyIndexes}}
+{{#normalIndexes}}
+
+	<!-- 根据索引{{indexName}}查询，必须限制条数 -->
+	<select id="selectListBy{{methodName}}" resultMap="base_result_map">
+		select <include refid="base_column_list"/>
+		from {{tableName}}
+		where {{#indexFields}}{{fieldName}} = #{{{propertyName}}} {{^-last}}and {{/-last}}{{/indexFields}}
+		limit #{limit}
+	</select>
+{{/normalIndexes}}
+</mapper>
\ No newline at end of file
@@ -0,0 +1,70 @@
+{{! PO实体类模板，字段变量见TemplateModel }}
+package {{packagePo}};
+
+import java.io.Serializable;
+{{#haveDateOrTime}}
+import java.util.Date;
+{{dateFormatClass}}
+{{dateParseClass}}
+import {{packageUtils}}.DateUtils;
+import {{packageEnum}}.DateTimePatternEnum;
+{{/haveDateOrTime}}
+{{#haveIgnoreJson}}
+{{ignoreJsonClass}}
+{{/haveIgnoreJson}}
+{{#haveBigDecimal}}
+import java.math.BigDecimal;
+{{/haveBigDecimal}}
+/**
+ * {{comment}}
+ * @author {{author}}
+{{#since}}
+ * @since {{since}}
+{{/since}}
+ */
+public class {{beanName}} implements Serializable {
+{{#fields}}
+	// {{comment}}
+{{#dateTime}}
+	{{dateTimeFormatExpression}}
+	{{dateTimeParseExpression}}
+{{/dateTime}}
+{{#date}}
+	{{dateFormatExpression}}
+	{{dateParseExpression}}
+{{/date}}
+{{#ignoreJsonExpression}}
+	{{ignoreJsonExpression}}
+{{/ignoreJsonExpression}}
+	private {{javaType}} {{propertyName}};
+{{/fields}}
+
+{{#fields}}
+	public void set{{methodName}}({{javaType}} {{propertyName}}) {
+		this.{{propertyName}} = {{propertyName}};
+	}
+
+	public {{javaType}} get{{methodName}}() {
+		return {{propertyName}};
+	}
+
+{{/fields}}
+	@Override
+	public String toString() {
+		return "{{beanName}} [" +{{#fields}}
+			"{{propertyName}}=" + ({{propertyName}} == null ? "空" : {{#dateTime}}DateUtils.format({{propertyName}}, DateTimePatternEnum.YYYY_MM_DD_HH_MM_SS.getPattern()){{/dateTime}}{{#date}}DateUtils.format({{propertyName}}, DateTimePatternEnum.YYYY_MM_DD.getPattern()){{/date}}{{^dateOrTime}}{{propertyName}}{{/dateOrTime}}) + {{^-last}}", " +{{/-last}}{{/fields}}
+			"]";
+	}
+{{#keyIndexes}}
+{{#keyTuple}}
+
+	// {{methodName}}组成的键值，用于按键值列表批量查询
+	public record {{keyName}}({{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) implements Serializable {
+		// 获取记录的键值
+		public static {{keyName}} of({{beanName}} bean) {
+			return new {{keyName}}({{#indexFields}}bean.get{{methodName}}(){{^-last}}, {{/-last}}{{/indexFields}});
+		}
+	}
+{{/keyTuple}}
+{{/keyIndexes}}
+}
\ No newline at end of file
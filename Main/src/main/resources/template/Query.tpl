@@ -0,0 +1,158 @@
+{{! 查询条件类模板，字符串字段增加模糊查询属性，日期字段增加时间范围属性 }}
+package {{packageQuery}};
+
+{{#haveDateOrTime}}
+import java.util.Date;
+{{/haveDateOrTime}}
+{{#haveBigDecimal}}
+import java.math.BigDecimal;
+{{/haveBigDecimal}}
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {{comment}}查询
+ * @author {{author}}
+{{#since}}
+ * @since {{since}}
+{{/since}}
+ */
+public class {{queryName}} extends BaseQuery {
+	// 可查询的属性到列名的映射，按表字段顺序排列
+	private static final Map<String, String> COLUMN_MAP = new LinkedHashMap<>();
+
+	static {
+{{#fields}}
+		COLUMN_MAP.put("{{propertyName}}", "{{fieldName}}");
+{{/fields}}
+	}
+{{#haveKeyLists}}
+
+	// 键值列表的长度档位，从小到大排列，in条件的键值数补齐到档位长度
+	public static final int[] IN_BUCKETS = {{{batchInBuckets}}};
+{{/haveKeyLists}}
+
+	// 查询的属性，多个用逗号分隔，为空时查询全部列
+	private String fields;
+
+	// 由fields解析出的查询列，为null时查询全部列
+	private List<String> selectColumns;
+
+{{#fields}}
+	// {{comment}}
+	private {{javaType}} {{propertyName}};
+{{#string}}
+	private {{javaType}} {{propertyName}}{{suffixFuzzy}};
+
+	private {{javaType}} {{propertyName}}{{suffixPrefix}};
+
+{{#fulltext}}
+	private {{javaType}} {{propertyName}}{{suffixMatch}};
+
+{{/fulltext}}
+{{/string}}
+{{#dateOrTime}}
+	private String {{propertyName}}{{suffixTimeStart}};
+
+	private String {{propertyName}}{{suffixTimeEnd}};
+
+{{/dateOrTime}}
+{{/fields}}
+{{#inFields}}
+	// {{fieldName}}的键值列表，生成in条件，为空列表时查询不到记录
+	private {{javaType}} {{propertyName}};
+
+{{/inFields}}
+{{#allFields}}
+	public void set{{methodName}}({{javaType}} {{propertyName}}) {
+		this.{{propertyName}} = {{propertyName}};
+	}
+
+	public {{javaType}} get{{methodName}}() {
+		return {{propertyName}};
+	}
+
+{{/allFields}}
+	// 设置查询的属性，属性必须是表中的字段，主键始终查询
+	public void setFields(String fields) {
+		this.selectColumns = parseColumns(fields);
+		this.fields = fields;
+	}
+
+	public String getFields() {
+		return fields;
+	}
+
+	public List<String> getSelectColumns() {
+		return selectColumns;
+	}
+{{#inFields}}
+
+	// 补齐到档位长度的{{propertyName}}，用于生成in条件
+	public {{javaType}} get{{methodName}}Padded() {
+		return padInList({{propertyName}});
+	}
+{{/inFields}}
+{{#haveKeyLists}}
+
+	// 用最后一个键值把列表补齐到不小于其长度的最小档位，超过最大档位时补齐到最大档位的整数倍，
+	// 键值数不同的in条件只生成少数几种预编译语句，重复的键值不影响查询结果
+	public static <T> List<T> padInList(List<T> list) {
+		if (list == null || list.isEmpty()) {
+			return list;
+		}
+		int max = IN_BUCKETS[IN_BUCKETS.length - 1];
+		int size = (list.size() + max - 1) / max * max;
+		for (int bucket : IN_BUCKETS) {
+			if (bucket >= list.size()) {
+				size = bucket;
+				break;
+			}
+		}
+		if (size == list.size()) {
+			return list;
+		}
+		List<T> padList = new ArrayList<>(size);
+		padList.addAll(list);
+		T last = list.get(list.size() - 1);
+		while (padList.size() < size) {
+			padList.add(last);
+		}
+		return padList;
+	}
+{{/haveKeyLists}}
+
+	// 把逗号分隔的属性转换为列名，按表字段顺序排列，相同的查询生成相同的SQL
+	private static List<String> parseColumns(String fields) {
+		if (fields == null || fields.trim().isEmpty()) {
+			return null;
+		}
+		Set<String> propertySet = new HashSet<>();
+		for (String field : fields.split(",")) {
+			String property = field.trim();
+			if (property.isEmpty()) {
+				continue;
+			}
+			if (!COLUMN_MAP.containsKey(property)) {
+				throw new IllegalArgumentException("不支持查询的属性: " + property);
+			}
+			propertySet.add(property);
+		}
+{{#fields}}
+{{#id}}
+		propertySet.add("{{propertyName}}");
+{{/id}}
+{{/fields}}
+		List<String> columnList = new ArrayList<>();
+		for (Map.Entry<String, String> entry : COLUMN_MAP.entrySet()) {
+			if (propertySet.contains(entry.getKey())) {
+				columnList.add(entry.getValue());
+			}
+		}
+		return columnList;
+	}
+}
\ No newline at end of file
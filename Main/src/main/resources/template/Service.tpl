@@ -0,0 +1,100 @@
+{{! Service接口模板，每个主键或唯一索引生成查询、更新、删除方法 }}
+package {{packageService}};
+
+import {{packagePo}}.{{beanName}};
+import {{packageQuery}}.{{queryName}};
+import {{packageVo}}.PaginationResultVO;
+import {{packageVo}}.KeysetResultVO;
+import {{packageVo}}.BatchResultVO;
+import java.util.Collection;
+{{#haveDateParams}}
+import java.util.Date;
+{{/haveDateParams}}
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {{comment}}{{suffixService}}
+ * @author {{author}}
+{{#since}}
+ * @since {{since}}
+{{/since}}
+ */
+public interface {{serviceName}} {
+	// 根据条件查询列表
+	List<{{beanName}}> findListByParam({{beanParamName}} query);
+
+	// 根据条件查询总数
+	Integer findCountByParam({{beanParamName}} query);
+
+	// 分页查询
+	PaginationResultVO<{{beanName}}> findPageByParam({{beanParamName}} query);
+
+	// 根据条件流式查询，逐条从数据库读取，使用完毕后必须关闭返回的Stream
+	Stream<{{beanName}}> streamByParam({{beanParamName}} query);
+
+	// 根据条件查询，逐条交给consumer处理，结果不在内存中保留
+	void forEachByParam({{beanParamName}} query, Consumer<{{beanName}}> consumer);
+
+	// 新增
+	Integer add({{beanName}} bean);
+
+	// 批量新增，按条数和字节数分块执行，返回每块的影响行数
+{{#batchJdbc}}
+	// 在独立的SqlSession中每块单独提交，不参与调用方的事务，调用方回滚或中途失败时已提交的块不会回滚
+{{/batchJdbc}}
+	BatchResultVO addBatch(List<{{beanName}}> listBean);
+
+	// 批量新增或修改，按条数和字节数分块执行，返回每块的影响行数
+{{#batchJdbc}}
+	// 在独立的SqlSession中每块单独提交，不参与调用方的事务，调用方回滚或中途失败时已提交的块不会回滚
+{{/batchJdbc}}
+	BatchResultVO addOrUpdateBatch(List<{{beanName}}> listBean);
+
+	// 多条件更新
+	Integer updateByParam({{beanName}} bean, {{beanParamName}} query);
+
+	// 多条件更新
+	Integer deleteByParam({{beanParamName}} query);
+
+{{#keyIndexes}}
+	// 根据{{methodName}}查询
+	{{beanName}} get{{beanName}}By{{methodName}}({{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+
+	// 根据{{methodName}}更新
+	Integer update{{beanName}}By{{methodName}}({{beanName}} bean, {{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+
+	// 根据{{methodName}}批量更新，按条数分块执行，为null的属性不更新，返回每块的影响行数，jdbc方式下同时返回每行的影响行数
+{{#batchUpdateJdbc}}
+	// 在独立的SqlSession中每块单独提交，不参与调用方的事务，调用方回滚或中途失败时已提交的块不会回滚
+{{/batchUpdateJdbc}}
+	BatchResultVO update{{beanName}}BatchBy{{methodName}}(List<{{beanName}}> listBean);
+
+	// 根据{{methodName}}删除
+	Integer delete{{beanName}}By{{methodName}}({{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+{{#keyset}}
+
+	// 根据{{methodName}}分页查询，第一页键值传null，之后传入上一页返回的nextKey
+	KeysetResultVO<{{beanName}}> findPageAfterBy{{methodName}}({{beanParamName}} query{{#indexFields}}, {{javaType}} {{propertyName}}{{/indexFields}});
+{{/keyset}}
+{{#listField}}
+
+	// 根据{{methodName}}列表批量查询，键值较多时分块查询
+	List<{{beanName}}> get{{beanName}}ListBy{{methodName}}List(Collection<{{javaType}}> {{propertyName}}List);
+
+	// 根据{{methodName}}列表批量删除，键值较多时分块删除，返回删除的总行数
+	Integer delete{{beanName}}By{{methodName}}List(Collection<{{javaType}}> {{propertyName}}List);
+{{/listField}}
+{{#keyTuple}}
+
+	// 根据{{methodName}}键值列表批量查询，键值较多时分块查询
+	List<{{beanName}}> get{{beanName}}ListBy{{methodName}}List(Collection<{{beanName}}.{{keyName}}> keyList);
+{{/keyTuple}}
+{{/keyIndexes}}
+{{#normalIndexes}}
+
+	// 根据索引{{indexName}}查询，最多返回limit条记录，limit为空时返回15条
+	List<{{beanName}}> find{{beanName}}ListBy{{methodName}}({{#indexFields}}{{javaType}} {{propertyName}}, {{/indexFields}}Integer limit);
+{{/normalIndexes}}
+}
\ No newline at end of file
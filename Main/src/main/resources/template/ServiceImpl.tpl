@@ -0,0 +1,394 @@
+{{! Service实现类模板，方法直接调用Mapper }}
+package {{packageServiceImpl}};
+
+import {{packageEnum}}.PageSize;
+import {{packageEnum}}.CountStrategy;
+import {{packageQuery}}.SimplePage;
+import {{packagePo}}.{{beanName}};
+import {{packageQuery}}.{{queryName}};
+import {{packageMapper}}.{{mapperName}};import {{packageVo}}.PaginationResultVO;
+import {{packageVo}}.KeysetResultVO;
+import {{packageVo}}.BatchResultVO;
+import {{packageService}}.{{serviceName}};
+import org.springframework.stereotype.Service;
+import org.apache.ibatis.cursor.Cursor;
+{{#batchExecutor}}
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+{{/batchExecutor}}
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import jakarta.annotation.Resource;
+{{#batchExecutor}}
+import java.sql.Statement;
+{{/batchExecutor}}
+import java.util.ArrayList;
+import java.util.Collection;
+{{#haveDateParams}}
+import java.util.Date;
+{{/haveDateParams}}
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {{comment}}{{suffixServiceImpl}}
+ * @author {{author}}
+{{#since}}
+ * @since {{since}}
+{{/since}}
+ */
+@Service("{{serviceBeanName}}")
+public class {{serviceImplName}} implements {{serviceName}} {
+	@Resource
+	private {{mapperName}}<{{beanName}}, {{beanParamName}}> {{mapperBeanName}};
+
+	@Resource
+	private SqlSessionFactory sqlSessionFactory;
+
+	// 批量新增时每块的最大条数
+	private static final int BATCH_ROWS = {{batchInsertRows}};
+
+	// 批量新增时每块的最大估算字节数
+	private static final int BATCH_BYTES = {{batchInsertBytes}};
+
+	// 按键批量更新时每块的最大条数
+	private static final int BATCH_UPDATE_ROWS = {{batchUpdateRows}};
+{{#haveNormalIndexes}}
+
+	// 按索引查询列表时每次最多返回的条数
+	private static final int FINDER_LIMIT_MAX = {{finderLimitMax}};
+{{/haveNormalIndexes}}
+
+	// 根据条件查询列表
+	public List<{{beanName}}> findListByParam({{beanParamName}} query) {
+		return this.{{mapperBeanName}}.selectList(query);
+	}
+
+	// 根据条件查询总数
+	public Integer findCountByParam({{beanParamName}} query) {
+		return this.{{mapperBeanName}}.selectCount(query);
+	}
+
+	// 分页查询，按查询条件中的countStrategy获取总数，未指定时使用{{countStrategy}}
+	public PaginationResultVO<{{beanName}}> findPageByParam({{beanParamName}} query) {
+		CountStrategy countStrategy = query.getCountStrategy() == null ? CountStrategy.{{countStrategy}} : query.getCountStrategy();
+		Integer count = null;
+		if (countStrategy == CountStrategy.ESTIMATE) {
+			// 估算行数只适用于没有查询条件的情况，否则查询精确总数；估算值可能是缓存的统计信息，超出Integer范围时取最大值
+			Long estimate = this.isUnfiltered(query) ? this.{{mapperBeanName}}.selectCountEstimate() : null;
+			count = estimate == null ? null : (int) Math.min(estimate, Integer.MAX_VALUE);
+			if (count == null) {
+				countStrategy = CountStrategy.EXACT;
+			}
+		} else if (countStrategy == CountStrategy.FIRST_PAGE && query.getPageNo() != null && query.getPageNo() > 1) {
+			// 第一页之后使用第一页返回的总数，未传入时重新查询
+			count = query.getTotalCount();
+		}
+		if (count == null && countStrategy != CountStrategy.NONE) {
+			count = this.findCountByParam(query);
+		}
+		Integer pageSize = query.getPageSize() == null ? PageSize.SIZE15.getSize() : query.getPageSize();
+		SimplePage page = new SimplePage(query.getPageNo(), pageSize, count, countStrategy);
+		query.setSimplePage(page);
+		List<{{beanName}}> list = this.findListByParam(query);
+		// 未查询总数或总数不是精确值时多查询了一条记录，用于判断是否还有下一页
+		boolean hasNext = page.needProbe() ? list.size() > page.getPageSize() : page.getPageNo() < page.getPageTotal();
+		if (page.needProbe() && hasNext) {
+			list = list.subList(0, page.getPageSize());
+		}
+		PaginationResultVO<{{beanName}}> result = new PaginationResultVO<>(count, page.getPageNo(), page.getPageSize(), list, page.getPageTotal());
+		result.setHasNext(hasNext);
+		result.setCountStrategy(countStrategy);
+		return result;
+	}
+
+	// 根据条件流式查询，在独立的SqlSession中打开游标，关闭Stream时关闭游标和SqlSession
+	@SuppressWarnings("unchecked")
+	public Stream<{{beanName}}> streamByParam({{beanParamName}} query) {
+		SqlSession session = this.sqlSessionFactory.openSession();
+		try {
+			{{mapperName}}<{{beanName}}, {{beanParamName}}> mapper = session.getMapper({{mapperName}}.class);
+			Cursor<{{beanName}}> cursor = mapper.selectCursor(query);
+			return StreamSupport.stream(cursor.spliterator(), false).onClose(session::close);
+		} catch (RuntimeException e) {
+			session.close();
+			throw e;
+		}
+	}
+
+	// 根据条件查询，逐条交给consumer处理
+	public void forEachByParam({{beanParamName}} query, Consumer<{{beanName}}> consumer) {
+		this.{{mapperBeanName}}.selectByHandler(query, context -> consumer.accept(context.getResultObject()));
+	}
+
+	// 查询条件是否都为空
+	private boolean isUnfiltered({{beanParamName}} query) {
+		return {{#allFields}}isEmpty(query.get{{methodName}}()){{^-last}}
+				&& {{/-last}}{{/allFields}};
+	}
+
+	private static boolean isEmpty(Object value) {
+		return value == null || "".equals(value);
+	}
+
+	// 新增
+	public Integer add({{beanName}} bean) {
+		return this.{{mapperBeanName}}.insert(bean);
+	}
+
+	// 批量新增
+	public BatchResultVO addBatch(List<{{beanName}}> listBean) {
+		return this.executeBatch(listBean, false);
+	}
+
+	// 批量新增或修改
+	public BatchResultVO addOrUpdateBatch(List<{{beanName}}> listBean) {
+		return this.executeBatch(listBean, true);
+	}
+{{^batchJdbc}}
+
+	// 按块执行多值insert语句，每块一条语句，避免超过max_allowed_packet
+	private BatchResultVO executeBatch(List<{{beanName}}> listBean, boolean update) {
+		BatchResultVO result = new BatchResultVO();
+		if (listBean == null || listBean.size() == 0) {
+			return result;
+		}
+		for (List<{{beanName}}> chunk : split(listBean, BATCH_ROWS)) {
+			result.addChunk(update ? this.{{mapperBeanName}}.insertOrUpdateBatch(chunk) : this.{{mapperBeanName}}.insertBatch(chunk));
+		}
+		return result;
+	}
+{{/batchJdbc}}
+{{#batchJdbc}}
+
+	// 使用BATCH执行器逐条执行单行insert语句，每块发送并提交一次，连接地址开启rewriteBatchedStatements=true后，驱动会把每块合并为多值insert语句
+	// 在sqlSessionFactory打开的独立SqlSession中执行，不参与调用方的Spring事务，调用方回滚或中途失败时已提交的块不会回滚
+	// 没有改用BATCH类型的SqlSessionTemplate：事务中已使用过普通执行器时无法切换执行器类型，没有事务时每条语句单独提交，起不到批量的作用
+	@SuppressWarnings("unchecked")
+	private BatchResultVO executeBatch(List<{{beanName}}> listBean, boolean update) {
+		BatchResultVO result = new BatchResultVO();
+		if (listBean == null || listBean.size() == 0) {
+			return result;
+		}
+		try (SqlSession session = this.sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+			{{mapperName}}<{{beanName}}, {{beanParamName}}> mapper = session.getMapper({{mapperName}}.class);
+			for (List<{{beanName}}> chunk : split(listBean, BATCH_ROWS)) {
+				for ({{beanName}} bean : chunk) {
+					if (update) {
+						mapper.insertOrUpdateBatchRow(bean);
+					} else {
+						mapper.insertBatchRow(bean);
+					}
+				}
+				flushChunk(session, result);
+			}
+		}
+		return result;
+	}
+{{/batchJdbc}}
+{{#batchExecutor}}
+
+	// 发送BATCH执行器中累积的语句并提交，记录每行和整块的影响行数
+	private static void flushChunk(SqlSession session, BatchResultVO result) {
+		int count = 0;
+		for (BatchResult batchResult : session.flushStatements()) {
+			for (int updateCount : batchResult.getUpdateCounts()) {
+				result.addRow(updateCount);
+				// 合并执行时驱动可能只返回SUCCESS_NO_INFO，按一行计算
+				count += updateCount == Statement.SUCCESS_NO_INFO ? 1 : updateCount;
+			}
+		}
+		session.commit();
+		result.addChunk(count);
+	}
+{{/batchExecutor}}
+
+	// 按条数和估算的字节数拆分列表，每块不超过maxRows条和BATCH_BYTES字节
+	private static List<List<{{beanName}}>> split(List<{{beanName}}> listBean, int maxRows) {
+		List<List<{{beanName}}>> chunkList = new ArrayList<>();
+		int from = 0;
+		int bytes = 0;
+		for (int i = 0; i < listBean.size(); i++) {
+			int size = estimateSize(listBean.get(i));
+			if (i > from && (i - from >= maxRows || bytes + size > BATCH_BYTES)) {
+				chunkList.add(listBean.subList(from, i));
+				from = i;
+				bytes = 0;
+			}
+			bytes += size;
+		}
+		chunkList.add(listBean.subList(from, listBean.size()));
+		return chunkList;
+	}
+
+	// 估算一条记录在insert语句中占用的字节数，每个字段至少按24字节(可容纳日期时间和长整数的字面量)，
+	// 映射为String的字段(包括TEXT、JSON、BLOB等)按UTF-8每个字符最多3字节，BigDecimal按数字的位数
+	private static int estimateSize({{beanName}} bean) {
+		int size = {{fieldCount}} * 24;
+{{#fields}}
+{{#javaString}}
+		size += bean.get{{methodName}}() == null ? 0 : bean.get{{methodName}}().length() * 3;
+{{/javaString}}
+{{#javaDecimal}}
+		size += bean.get{{methodName}}() == null ? 0 : bean.get{{methodName}}().toPlainString().length();
+{{/javaDecimal}}
+{{/fields}}
+		return size;
+	}
+
+	// 多条件更新
+	public Integer updateByParam({{beanName}} bean, {{beanParamName}} query) {
+		return this.{{mapperBeanName}}.updateByParam(bean, query);
+	}
+
+	// 多条件删除
+	public Integer deleteByParam({{beanParamName}} query) {
+		return this.{{mapperBeanName}}.deleteByParam(query);
+	}
+
+{{#keyIndexes}}
+	// 根据{{methodName}}查询
+	public {{beanName}} get{{beanName}}By{{methodName}}({{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) {
+		return this.{{mapperBeanName}}.selectBy{{methodName}}({{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+	}
+
+	// 根据{{methodName}}更新
+	public Integer update{{beanName}}By{{methodName}}({{beanName}} bean, {{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) {
+		return this.{{mapperBeanName}}.updateBy{{methodName}}(bean, {{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+	}
+
+{{#batchUpdateJdbc}}
+	// 根据{{methodName}}批量更新，使用BATCH执行器逐条执行updateBy{{methodName}}，每块发送并提交一次
+	// 与批量新增一样在独立的SqlSession中执行，不参与调用方的Spring事务，调用方回滚或中途失败时已提交的块不会回滚
+	@SuppressWarnings("unchecked")
+	public BatchResultVO update{{beanName}}BatchBy{{methodName}}(List<{{beanName}}> listBean) {
+		BatchResultVO result = new BatchResultVO();
+		if (listBean == null || listBean.size() == 0) {
+			return result;
+		}
+		try (SqlSession session = this.sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+			{{mapperName}}<{{beanName}}, {{beanParamName}}> mapper = session.getMapper({{mapperName}}.class);
+			for (List<{{beanName}}> chunk : split(listBean, BATCH_UPDATE_ROWS)) {
+				for ({{beanName}} bean : chunk) {
+					mapper.updateBy{{methodName}}(bean, {{#indexFields}}bean.get{{methodName}}(){{^-last}}, {{/-last}}{{/indexFields}});
+				}
+				flushChunk(session, result);
+			}
+		}
+		return result;
+	}
+{{/batchUpdateJdbc}}
+{{^batchUpdateJdbc}}
+	// 根据{{methodName}}批量更新，每块执行一条case when语句
+	// 所有更新属性都为null的记录不参与更新，否则整块都是这样的记录时语句缺少set子句
+	public BatchResultVO update{{beanName}}BatchBy{{methodName}}(List<{{beanName}}> listBean) {
+		BatchResultVO result = new BatchResultVO();
+		if (listBean == null || listBean.size() == 0) {
+			return result;
+		}
+		List<{{beanName}}> updateList = new ArrayList<>(listBean.size());
+		for ({{beanName}} bean : listBean) {
+			if ({{updateCondition}}) {
+				updateList.add(bean);
+			}
+		}
+		for (List<{{beanName}}> chunk : split(updateList, BATCH_UPDATE_ROWS)) {
+			result.addChunk(this.{{mapperBeanName}}.updateBatchBy{{methodName}}(chunk));
+		}
+		return result;
+	}
+{{/batchUpdateJdbc}}
+
+	// 根据{{methodName}}删除
+	public Integer delete{{beanName}}By{{methodName}}({{#indexFields}}{{javaType}} {{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}}) {
+		return this.{{mapperBeanName}}.deleteBy{{methodName}}({{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}});
+	}
+{{#keyset}}
+
+	// 根据{{methodName}}分页查询，多查询一条记录判断是否还有下一页，不需要查询总数
+	// nextKey的参数名与Controller中的键值参数名一致，加after前缀
+	public KeysetResultVO<{{beanName}}> findPageAfterBy{{methodName}}({{beanParamName}} query{{#indexFields}}, {{javaType}} {{propertyName}}{{/indexFields}}) {
+		Integer pageSize = query.getPageSize() == null || query.getPageSize() <= 0 ? PageSize.SIZE15.getSize() : query.getPageSize();
+		List<{{beanName}}> list = this.{{mapperBeanName}}.selectPageAfterBy{{methodName}}(query, {{#indexFields}}{{propertyName}}, {{/indexFields}}pageSize + 1);
+		boolean hasNext = list.size() > pageSize;
+		Map<String, Object> nextKey = null;
+		if (hasNext) {
+			list = list.subList(0, pageSize);
+			{{beanName}} last = list.get(pageSize - 1);
+			nextKey = new LinkedHashMap<>();
+{{#indexFields}}
+			nextKey.put("after{{methodName}}", last.get{{methodName}}());
+{{/indexFields}}
+		}
+		return new KeysetResultVO<>(pageSize, list, hasNext, nextKey);
+	}
+{{/keyset}}
+{{#listField}}
+
+	// 根据{{methodName}}列表批量查询，每块一条语句
+	public List<{{beanName}}> get{{beanName}}ListBy{{methodName}}List(Collection<{{javaType}}> {{propertyName}}List) {
+		List<{{beanName}}> list = new ArrayList<>();
+		for (List<{{javaType}}> chunk : splitKeys({{propertyName}}List)) {
+			list.addAll(this.{{mapperBeanName}}.selectBy{{methodName}}List(chunk));
+		}
+		return list;
+	}
+
+	// 根据{{methodName}}列表批量删除，每块一条语句
+	public Integer delete{{beanName}}By{{methodName}}List(Collection<{{javaType}}> {{propertyName}}List) {
+		int count = 0;
+		for (List<{{javaType}}> chunk : splitKeys({{propertyName}}List)) {
+			count += this.{{mapperBeanName}}.deleteBy{{methodName}}List(chunk);
+		}
+		return count;
+	}
+{{/listField}}
+{{#keyTuple}}
+
+	// 根据{{methodName}}键值列表批量查询，每块一条语句
+	public List<{{beanName}}> get{{beanName}}ListBy{{methodName}}List(Collection<{{beanName}}.{{keyName}}> keyList) {
+		List<{{beanName}}> list = new ArrayList<>();
+		for (List<{{beanName}}.{{keyName}}> chunk : splitKeys(keyList)) {
+			list.addAll(this.{{mapperBeanName}}.selectBy{{methodName}}List(chunk));
+		}
+		return list;
+	}
+{{/keyTuple}}
+{{/keyIndexes}}
+{{#haveKeyLists}}
+
+	// 去掉null和重复的键值后按最大档位分块，每块补齐到档位长度，键值数不同时也只使用少数几种预编译语句
+	private static <K> List<List<K>> splitKeys(Collection<K> keys) {
+		List<List<K>> chunkList = new ArrayList<>();
+		if (keys == null) {
+			return chunkList;
+		}
+		List<K> keyList = new ArrayList<>(new LinkedHashSet<>(keys));
+		keyList.remove(null);
+		int max = {{queryName}}.IN_BUCKETS[{{queryName}}.IN_BUCKETS.length - 1];
+		for (int from = 0; from < keyList.size(); from += max) {
+			chunkList.add({{queryName}}.padInList(keyList.subList(from, Math.min(from + max, keyList.size()))));
+		}
+		return chunkList;
+	}
+{{/haveKeyLists}}
+{{#normalIndexes}}
+
+	// 根据索引{{indexName}}查询，条数限制在1到FINDER_LIMIT_MAX之间
+	public List<{{beanName}}> find{{beanName}}ListBy{{methodName}}({{#indexFields}}{{javaType}} {{propertyName}}, {{/indexFields}}Integer limit) {
+		return this.{{mapperBeanName}}.selectListBy{{methodName}}({{#indexFields}}{{propertyName}}, {{/indexFields}}getFinderLimit(limit));
+	}
+{{/normalIndexes}}
+{{#haveNormalIndexes}}
+
+	// 按索引查询列表的条数，未传入时为15条，超过FINDER_LIMIT_MAX时为FINDER_LIMIT_MAX
+	private static int getFinderLimit(Integer limit) {
+		return limit == null || limit <= 0 ? PageSize.SIZE15.getSize() : Math.min(limit, FINDER_LIMIT_MAX);
+	}
+{{/haveNormalIndexes}}
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.main.builder;
+
+import com.main.bean.FieldInfo;
+import com.main.bean.IndexInfo;
+import com.main.bean.TableInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BuildTableDdl解析建表语句的测试，测试配置中table.include为user_*，表名需以user_开头
+ */
+public class BuildTableDdlTest {
+
+    @Test
+    public void compositePrimaryKey() {
+        TableInfo tableInfo = parseOne("CREATE TABLE `user_role` (\n" +
+                "  `user_id` varchar(12) NOT NULL COMMENT '用户ID',\n" +
+                "  `role_id` int NOT NULL COMMENT '角色ID',\n" +
+                "  `grant_time` datetime DEFAULT NULL COMMENT '授权时间',\n" +
+                "  PRIMARY KEY (`user_id`, `role_id`)\n" +
+                ") ENGINE=InnoDB COMMENT='用户角色';");
+
+        assertEquals("user_role", tableInfo.getTableName());
+        assertEquals("用户角色", tableInfo.getComment());
+        assertEquals(List.of("user_id", "role_id", "grant_time"), fieldNames(tableInfo.getFieldList()));
+        assertEquals(List.of("PRIMARY"), new ArrayList<>(tableInfo.getKeyIndexMap().keySet()));
+        assertEquals(List.of("user_id", "role_id"), fieldNames(tableInfo.getKeyIndexMap().get("PRIMARY")));
+        // 键字段与字段列表中的是同一个对象
+        assertSame(tableInfo.getFieldList().get(0), tableInfo.getKeyIndexMap().get("PRIMARY").get(0));
+
+        FieldInfo grantTime = tableInfo.getFieldList().get(2);
+        assertEquals("grantTime", grantTime.getPropertyName());
+        assertEquals("DATETIME", grantTime.getSqlType());
+        assertEquals("授权时间", grantTime.getComment());
+        assertTrue(grantTime.getIsNullable());
+        assertFalse(tableInfo.getFieldList().get(1).getIsNullable());
+    }
+
+    @Test
+    public void inlinePrimaryKeyIsNotNull() {
+        TableInfo tableInfo = parseOne("create table user_log (id bigint primary key auto_increment, content text)");
+
+        FieldInfo id = tableInfo.getFieldList().get(0);
+        assertEquals(List.of("id"), fieldNames(tableInfo.getKeyIndexMap().get("PRIMARY")));
+        assertTrue(id.getIsAutoIncrement());
+        assertFalse(id.getIsNullable());
+        assertEquals("Long", id.getJavaType());
+    }
+
+    @Test
+    public void uniqueKeys() {
+        TableInfo tableInfo = parseOne("CREATE TABLE user_info (\n" +
+                "  user_id varchar(12) NOT NULL,\n" +
+                "  email varchar(50) UNIQUE,\n" +
+                "  code char(4) NOT NULL,\n" +
+                "  name varchar(20) NOT NULL,\n" +
+                "  PRIMARY KEY (user_id),\n" +
+                "  UNIQUE KEY uk_code_name (code, name),\n" +
+                "  CONSTRAINT uk_name UNIQUE (name)\n" +
+                ")");
+
+        // 主键在前，唯一索引按定义顺序排列，未命名的唯一索引使用字段名
+        assertEquals(List.of("PRIMARY", "email", "uk_code_name", "uk_name"), new ArrayList<>(tableInfo.getKeyIndexMap().keySet()));
+        assertEquals(List.of("code", "name"), fieldNames(tableInfo.getKeyIndexMap().get("uk_code_name")));
+        for (IndexInfo indexInfo : tableInfo.getIndexList()) {
+            assertTrue(indexInfo.getIsUnique());
+            assertEquals("BTREE", indexInfo.getIndexType());
+        }
+    }
+
+    @Test
+    public void fulltextAndNormalIndexes() {
+        TableInfo tableInfo = parseOne("CREATE TABLE user_article (\n" +
+                "  id bigint NOT NULL AUTO_INCREMENT,\n" +
+                "  title varchar(200) NOT NULL,\n" +
+                "  body text,\n" +
+                "  author_id bigint,\n" +
+                "  PRIMARY KEY (id),\n" +
+                "  KEY (author_id),\n" +
+                "  INDEX idx_title (title(20) DESC) USING HASH,\n" +
+                "  FULLTEXT KEY ft_title_body (title, body) WITH PARSER ngram\n" +
+                ")");
+
+        // 普通索引和全文索引不作为键
+        assertEquals(List.of("PRIMARY"), new ArrayList<>(tableInfo.getKeyIndexMap().keySet()));
+        Map<String, IndexInfo> indexMap = indexMap(tableInfo);
+        assertEquals("BTREE", indexMap.get("author_id").getIndexType());
+        assertFalse(indexMap.get("author_id").getIsUnique());
+        // 前缀长度和排序方向不影响字段名
+        assertEquals(List.of("title"), fieldNames(indexMap.get("idx_title").getFieldList()));
+        assertEquals("HASH", indexMap.get("idx_title").getIndexType());
+        assertEquals("FULLTEXT", indexMap.get("ft_title_body").getIndexType());
+        assertEquals(List.of("title", "body"), fieldNames(indexMap.get("ft_title_body").getFieldList()));
+    }
+
+    @Test
+    public void quotedIdentifiersAndStrings() {
+        TableInfo tableInfo = parseOne("CREATE TABLE IF NOT EXISTS `shop`.`user_order` (\n" +
+                "  `order id` int NOT NULL COMMENT '订单''号',\n" +
+                "  `note;x` varchar(20) DEFAULT 'a,b;c' COMMENT \"备注\\n\",\n" +
+                "  `status` enum('on','off') DEFAULT 'on',\n" +
+                "  PRIMARY KEY (`order id`)\n" +
+                ");\n" +
+                "INSERT INTO user_order VALUES (1, 'x;y', 'on');");
+
+        // 库名前缀去掉，反引号中的空格、分号和字符串中的逗号、分号不影响拆分
+        assertEquals("user_order", tableInfo.getTableName());
+        assertEquals(List.of("order id", "note;x", "status"), fieldNames(tableInfo.getFieldList()));
+        assertEquals("订单'号", tableInfo.getFieldList().get(0).getComment());
+        assertEquals("备注\n", tableInfo.getFieldList().get(1).getComment());
+        assertEquals("ENUM", tableInfo.getFieldList().get(2).getSqlType());
+        assertEquals(List.of("order id"), fieldNames(tableInfo.getKeyIndexMap().get("PRIMARY")));
+    }
+
+    @Test
+    public void filteredAndUnsupportedStatements() {
+        List<TableInfo> tableList = BuildTableDdl.parse("CREATE TABLE user_bak (id int);\n" +
+                "CREATE TABLE other (id int);\n" +
+                "CREATE TABLE user_copy LIKE user_info;\n" +
+                "DROP TABLE user_info;\n" +
+                "CREATE TABLE user_tag (id int PRIMARY KEY) /* 注释; */;");
+
+        assertEquals(1, tableList.size());
+        assertEquals("user_tag", tableList.get(0).getTableName());
+    }
+
+    private static TableInfo parseOne(String ddl) {
+        List<TableInfo> tableList = BuildTableDdl.parse(ddl);
+        assertEquals(1, tableList.size());
+        return tableList.get(0);
+    }
+
+    private static List<String> fieldNames(List<FieldInfo> fieldList) {
+        List<String> nameList = new ArrayList<>();
+        for (FieldInfo fieldInfo : fieldList) {
+            nameList.add(fieldInfo == null ? null : fieldInfo.getFieldName());
+        }
+        return nameList;
+    }
+
+    private static Map<String, IndexInfo> indexMap(TableInfo tableInfo) {
+        Map<String, IndexInfo> indexMap = new HashMap<>();
+        for (IndexInfo indexInfo : tableInfo.getIndexList()) {
+            assertNull(indexMap.put(indexInfo.getIndexName(), indexInfo));
+        }
+        return indexMap;
+    }
+}
@@ -0,0 +1,137 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import com.main.bean.TableInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GenerationManifest增量生成判断的测试，清单和生成的文件位于target目录
+ */
+public class GenerationManifestTest {
+    private static final String DDL = "CREATE TABLE user_info (user_id varchar(12) NOT NULL PRIMARY KEY, nick_name varchar(20) COMMENT '昵称');\n" +
+            "CREATE TABLE user_tag (id int PRIMARY KEY, tag varchar(10));";
+
+    @BeforeEach
+    public void deleteManifest() {
+        new File(Constants.GENERATE_MANIFEST_PATH).delete();
+    }
+
+    @Test
+    public void upToDateAfterSave() throws IOException {
+        TableInfo tableInfo = parse().get(0);
+        createOutputFiles(tableInfo);
+
+        GenerationManifest manifest = GenerationManifest.load();
+        assertFalse(manifest.isUpToDate(tableInfo));
+        manifest.update(tableInfo);
+        manifest.save();
+
+        // 重新读取的表信息相同时摘要相同
+        assertTrue(GenerationManifest.load().isUpToDate(parse().get(0)));
+    }
+
+    @Test
+    public void tableChangeInvalidates() throws IOException {
+        TableInfo tableInfo = parse().get(0);
+        createOutputFiles(tableInfo);
+        GenerationManifest manifest = GenerationManifest.load();
+        manifest.update(tableInfo);
+        manifest.save();
+
+        TableInfo changed = parse().get(0);
+        changed.getFieldList().get(1).setComment("用户昵称");
+        assertFalse(GenerationManifest.load().isUpToDate(changed));
+        changed = parse().get(0);
+        changed.getFieldList().get(1).setIsNullable(false);
+        assertFalse(GenerationManifest.load().isUpToDate(changed));
+    }
+
+    @Test
+    public void missingOutputFileInvalidates() throws IOException {
+        TableInfo tableInfo = parse().get(0);
+        createOutputFiles(tableInfo);
+        GenerationManifest manifest = GenerationManifest.load();
+        manifest.update(tableInfo);
+        manifest.save();
+
+        new File(Constants.PATH_CONTROLLER, tableInfo.getBeanName() + Constants.SUFFIX_CONTROLLER + ".java").delete();
+        assertFalse(GenerationManifest.load().isUpToDate(tableInfo));
+    }
+
+    @Test
+    public void retainOthers() throws IOException {
+        List<TableInfo> tableList = parse();
+        GenerationManifest manifest = GenerationManifest.load();
+        for (TableInfo tableInfo : tableList) {
+            createOutputFiles(tableInfo);
+            manifest.update(tableInfo);
+        }
+        manifest.save();
+
+        // 只重新生成user_info时保留user_tag的记录
+        GenerationManifest partial = GenerationManifest.load();
+        partial.update(tableList.get(0));
+        partial.retainOthers(Set.of("user_info"));
+        partial.save();
+        assertTrue(GenerationManifest.load().isUpToDate(tableList.get(1)));
+
+        // 本次未读取到的表沿用上次的记录
+        GenerationManifest full = GenerationManifest.load();
+        full.update(tableList.get(0));
+        full.save();
+        assertTrue(GenerationManifest.load().isUpToDate(tableList.get(1)));
+
+        // 重新读取但未记录的表视为已删除
+        GenerationManifest deleted = GenerationManifest.load();
+        deleted.update(tableList.get(0));
+        deleted.retainOthers(Set.of("user_info", "user_tag"));
+        deleted.save();
+        assertFalse(GenerationManifest.load().isUpToDate(tableList.get(1)));
+    }
+
+    @Test
+    public void failedTableIsRemoved() throws IOException {
+        TableInfo tableInfo = parse().get(0);
+        createOutputFiles(tableInfo);
+        GenerationManifest manifest = GenerationManifest.load();
+        manifest.update(tableInfo);
+        manifest.save();
+
+        // 生成失败的表不沿用上次的记录
+        GenerationManifest failed = GenerationManifest.load();
+        failed.remove(tableInfo);
+        failed.save();
+        assertFalse(GenerationManifest.load().isUpToDate(tableInfo));
+    }
+
+    private static List<TableInfo> parse() {
+        return BuildTableDdl.parse(DDL);
+    }
+
+    private static void createOutputFiles(TableInfo tableInfo) throws IOException {
+        String beanName = tableInfo.getBeanName();
+        String[][] files = {
+                {Constants.PATH_PO, beanName + ".java"},
+                {Constants.PATH_QUERY, beanName + Constants.SUFFIX_BEAN_QUERY + ".java"},
+                {Constants.PATH_MAPPER, beanName + Constants.SUFFIX_MAPPER + ".java"},
+                {Constants.PATH_MAPPER_XML, beanName + Constants.SUFFIX_MAPPER + ".xml"},
+                {Constants.PATH_SERVICE, beanName + Constants.SUFFIX_SERVICE + ".java"},
+                {Constants.PATH_SERVICE_IMPL, beanName + Constants.SUFFIX_SERVICE_IMPL + ".java"},
+                {Constants.PATH_CONTROLLER, beanName + Constants.SUFFIX_CONTROLLER + ".java"}
+        };
+        for (String[] file : files) {
+            File folder = new File(file[0]);
+            folder.mkdirs();
+            new File(folder, file[1]).createNewFile();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.main.builder;
+
+import com.main.bean.Constants;
+import com.main.bean.FieldInfo;
+import com.main.bean.TableInfo;
+import com.main.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * SchemaSnapshot读写快照的测试，快照文件位于target/test-automapper目录
+ */
+public class SchemaSnapshotTest {
+    private static final String DDL = "CREATE TABLE user_info (\n" +
+            "  user_id varchar(12) NOT NULL COMMENT '用户ID',\n" +
+            "  email varchar(50) COMMENT '邮箱',\n" +
+            "  code char(4) NOT NULL,\n" +
+            "  name varchar(20) NOT NULL,\n" +
+            "  create_time datetime,\n" +
+            "  PRIMARY KEY (user_id),\n" +
+            "  UNIQUE KEY idx_email (email),\n" +
+            "  UNIQUE KEY uk_code_name (code, name),\n" +
+            "  KEY idx_create_time (create_time)\n" +
+            ") COMMENT='用户信息';\n" +
+            "CREATE TABLE user_tag (id int PRIMARY KEY, tag varchar(10));";
+
+    @BeforeEach
+    public void deleteSnapshot() {
+        new File(Constants.SNAPSHOT_PATH).delete();
+    }
+
+    @Test
+    public void roundTrip() {
+        List<TableInfo> tableList = BuildTableDdl.parse(DDL);
+        write("fp1", tableList, true);
+
+        List<TableInfo> loadList = SchemaSnapshot.load("fp1");
+        assertEquals(2, loadList.size());
+        for (int i = 0; i < tableList.size(); i++) {
+            assertEquals(JsonUtils.toJson(tableList.get(i)), JsonUtils.toJson(loadList.get(i)));
+        }
+        // 键和索引中的字段与字段列表中的是同一个对象，与读库得到的结构一致
+        TableInfo tableInfo = loadList.get(0);
+        List<FieldInfo> fieldList = tableInfo.getFieldList();
+        assertSame(fieldList.get(0), tableInfo.getKeyIndexMap().get("PRIMARY").get(0));
+        assertSame(fieldList.get(3), tableInfo.getKeyIndexMap().get("uk_code_name").get(1));
+        assertSame(fieldList.get(4), tableInfo.getIndexList().get(3).getFieldList().get(0));
+        assertEquals(List.of("PRIMARY", "idx_email", "uk_code_name"), List.copyOf(tableInfo.getKeyIndexMap().keySet()));
+        assertFalse(fieldList.get(0).getIsNullable());
+    }
+
+    @Test
+    public void fingerprintMismatch() {
+        write("fp1", BuildTableDdl.parse(DDL), true);
+        assertNull(SchemaSnapshot.load("fp2"));
+    }
+
+    @Test
+    public void uncommittedWriteKeepsPreviousSnapshot() {
+        List<TableInfo> tableList = BuildTableDdl.parse(DDL);
+        write("fp1", tableList, true);
+        write("fp2", tableList.subList(0, 1), false);
+
+        assertNull(SchemaSnapshot.load("fp2"));
+        assertEquals(2, SchemaSnapshot.load("fp1").size());
+        assertFalse(new File(Constants.SNAPSHOT_PATH + ".tmp").exists());
+    }
+
+    private static void write(String fingerprint, List<TableInfo> tableList, boolean commit) {
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.open(fingerprint)) {
+            tableList.forEach(writer::append);
+            if (commit) {
+                writer.commit();
+            }
+        }
+    }
+}
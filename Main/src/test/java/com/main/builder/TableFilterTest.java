@@ -0,0 +1,62 @@
+package com.main.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TableFilter的测试，测试配置为table.include=user_*,regex:^log_[0-9]+$和table.exclude=*_bak,user_secret
+ */
+public class TableFilterTest {
+
+    @Test
+    public void includeRules() {
+        assertTrue(TableFilter.accept("user_info"));
+        // 通配符不区分大小写
+        assertTrue(TableFilter.accept("USER_Info"));
+        assertTrue(TableFilter.accept("log_2024"));
+        // 正则区分大小写且需要匹配整个表名
+        assertFalse(TableFilter.accept("LOG_2024"));
+        assertFalse(TableFilter.accept("log_2024_01"));
+        // 不匹配任何包含规则
+        assertFalse(TableFilter.accept("group_info"));
+        // _不是通配符
+        assertFalse(TableFilter.accept("userinfo"));
+    }
+
+    @Test
+    public void excludeTakesPrecedence() {
+        // 同时匹配包含和排除规则的表被排除
+        assertFalse(TableFilter.accept("user_info_bak"));
+        assertFalse(TableFilter.accept("user_secret"));
+        assertFalse(TableFilter.accept("USER_SECRET"));
+        assertTrue(TableFilter.accept("user_secret_key"));
+    }
+
+    @Test
+    public void restrictTo() {
+        try {
+            TableFilter.restrictTo(Set.of("user_info", "user_info_bak", "group_info"));
+            assertTrue(TableFilter.isRestricted());
+            assertTrue(TableFilter.accept("user_info"));
+            // 限制范围内的表仍需满足包含和排除规则
+            assertFalse(TableFilter.accept("user_info_bak"));
+            assertFalse(TableFilter.accept("group_info"));
+            assertFalse(TableFilter.accept("user_role"));
+        } finally {
+            TableFilter.restrictTo(null);
+        }
+        assertFalse(TableFilter.isRestricted());
+        assertTrue(TableFilter.accept("user_role"));
+    }
+
+    @Test
+    public void sqlCondition() {
+        // 包含规则中有正则时不转换为SQL条件，排除规则只转换通配符规则
+        assertEquals("lower(table_name) not like ? and lower(table_name) not like ?", TableFilter.getSqlCondition("table_name"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.main.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Template模板引擎的测试
+ */
+public class TemplateTest {
+
+    @Test
+    public void variables() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("name", "UserInfo");
+        model.put("count", 3);
+        model.put("table", Map.of("comment", "用户"));
+        model.put("empty", null);
+
+        assertEquals("UserInfo 3 用户 []", render("{{name}} {{ count }} {{table.comment}} [{{empty}}{{missing}}{{table.missing.x}}]", model));
+        // 连续的{时最后两个才是标签开始
+        assertEquals("#{userId}", render("#{{{name}}}", Map.of("name", "userId")));
+        assertEquals("ab", render("a{{! 注释}}b", model));
+    }
+
+    @Test
+    public void laterScopeTakesPrecedence() {
+        Template template = Template.compile("test", "{{a}}{{b}}");
+        assertEquals("12", template.render(Map.of("a", "1", "b", "0"), Map.of("b", "2")));
+    }
+
+    @Test
+    public void nestedSections() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("beanName", "UserInfo");
+        model.put("keyIndexes", List.of(
+                Map.of("methodName", "UserId", "indexFields", List.of(Map.of("propertyName", "userId"))),
+                Map.of("methodName", "CodeAndName", "indexFields", List.of(Map.of("propertyName", "code"), Map.of("propertyName", "name")))));
+
+        // 内层区块可以读取外层作用域的变量，-first、-last对应最内层的列表
+        String source = "{{#keyIndexes}}{{beanName}}.by{{methodName}}({{#indexFields}}{{propertyName}}{{^-last}}, {{/-last}}{{/indexFields}})"
+                + "{{^-last}}; {{/-last}}{{/keyIndexes}}";
+        assertEquals("UserInfo.byUserId(userId); UserInfo.byCodeAndName(code, name)", render(source, model));
+        assertEquals("[a|b|c]", render("{{#list}}{{#-first}}[{{/-first}}{{^-first}}|{{/-first}}{{.}}{{#-last}}]{{/-last}}{{/list}}",
+                Map.of("list", List.of("a", "b", "c"))));
+        // 不在列表中时-first、-last为false
+        assertEquals("x", render("{{#-first}}y{{/-first}}{{^-last}}x{{/-last}}", Map.of()));
+    }
+
+    @Test
+    public void sectionValues() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("yes", true);
+        model.put("no", false);
+        model.put("blank", "");
+        model.put("none", List.of());
+        model.put("object", Map.of("name", "inner"));
+        model.put("name", "outer");
+
+        String source = "{{#yes}}1{{/yes}}{{#no}}2{{/no}}{{#blank}}3{{/blank}}{{#none}}4{{/none}}{{#null}}5{{/null}}{{#object}}{{name}}{{/object}}";
+        assertEquals("1inner", render(source, model));
+        String inverted = "{{^yes}}1{{/yes}}{{^no}}2{{/no}}{{^blank}}3{{/blank}}{{^none}}4{{/none}}{{^null}}5{{/null}}{{^object}}6{{/object}}";
+        assertEquals("2345", render(inverted, model));
+    }
+
+    @Test
+    public void standaloneTagLines() {
+        String source = "class A {\n" +
+                "{{#fields}}\n" +
+                "    {{! 字段}}\n" +
+                "    private {{type}} {{name}};\n" +
+                "{{/fields}}\n" +
+                "{{^fields}}\n" +
+                "    // 没有字段\n" +
+                "{{/fields}}\n" +
+                "}\r\n";
+        Map<String, Object> model = Map.of("fields", List.of(Map.of("type", "String", "name", "a"), Map.of("type", "Long", "name", "b")));
+
+        // 单独占一行的区块标签和注释不留下空行，\r\n统一为\n
+        assertEquals("class A {\n    private String a;\n    private Long b;\n}\n", render(source, model));
+        assertEquals("class A {\n    // 没有字段\n}\n", render(source, Map.of()));
+        // 与其他内容在同一行的标签只去掉标签本身
+        assertEquals("a  b\n", render("a {{#x}}1{{/x}} b\n", Map.of()));
+    }
+
+    @Test
+    public void syntaxErrors() {
+        RuntimeException unclosed = assertThrows(RuntimeException.class, () -> Template.compile("test", "a\n{{#fields}}b"));
+        assertTrue(unclosed.getMessage().contains("fields"));
+        assertThrows(RuntimeException.class, () -> Template.compile("test", "{{#a}}{{/b}}"));
+        assertThrows(RuntimeException.class, () -> Template.compile("test", "{{name"));
+        assertThrows(RuntimeException.class, () -> Template.compile("test", "{{ }}"));
+    }
+
+    private static String render(String source, Map<String, ?> model) {
+        return Template.compile("test", source).render(model);
+    }
+}